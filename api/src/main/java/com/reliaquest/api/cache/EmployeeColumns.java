@@ -0,0 +1,546 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Struct-of-arrays storage for the rows of an {@link EmployeeSnapshot}, addressed by ordinal.
+ *
+ * <p>Salaries and ages are {@code int} columns, titles and email domains are dictionary encoded, and names and the
+ * local parts of emails are UTF-8 in one shared byte arena. Ids in canonical UUID form are kept as two {@code long}s,
+ * any other id as a string on the side, and are found through an open-addressing table of ordinals. A row therefore
+ * costs a few dozen bytes rather than an {@link Employee} with two boxed numbers and six strings; employees are only
+ * materialized when asked for. Rows are appended and tombstoned, never moved. Not thread-safe; the owning snapshot
+ * guards it with its read/write lock.
+ *
+ * <p>Live rows are also counted per name, as the upstream matches names when it deletes by one, in a table keyed by a
+ * 64-bit hash of the name. Names sharing a hash are counted together, which can make a unique name look shared but
+ * never the other way round.
+ */
+class EmployeeColumns {
+
+    private static final int ABSENT = Integer.MIN_VALUE;
+    private static final int NULL_CODE = -1;
+    private static final long NULL_TEXT = -1;
+    private static final int EMPTY_SLOT = -1;
+    private static final int DELETED_SLOT = -2;
+    private static final int UUID_LENGTH = 36;
+
+    private final BitSet removed = new BitSet();
+    private final BitSet irregularIds = new BitSet();
+    private final Map<Integer, String> irregularIdValues = new HashMap<>();
+    private final Dictionary titleDictionary = new Dictionary();
+    private final Dictionary domainDictionary = new Dictionary();
+
+    private int size;
+    private int liveCount;
+    private long[] idHigh;
+    private long[] idLow;
+    private long[] names;
+    private long[] emailLocals;
+    private int[] salaries;
+    private int[] ages;
+    private int[] titles;
+    private int[] domains;
+
+    private byte[] text;
+    private int textLength;
+
+    private int[] slots = emptySlots(16);
+    private int usedSlots;
+
+    private long[] nameKeys = new long[16];
+    private int[] nameCounts = new int[16];
+    private int usedNameKeys;
+
+    EmployeeColumns(int expectedRows) {
+        int capacity = Math.max(16, expectedRows);
+        idHigh = new long[capacity];
+        idLow = new long[capacity];
+        names = new long[capacity];
+        emailLocals = new long[capacity];
+        salaries = new int[capacity];
+        ages = new int[capacity];
+        titles = new int[capacity];
+        domains = new int[capacity];
+        text = new byte[capacity * 16];
+    }
+
+    /**
+     * @return the ordinal of the new row; its id is not findable until {@link #index} is called
+     */
+    int append(Employee employee) {
+        if (size == salaries.length) {
+            grow();
+        }
+        int ordinal = size++;
+        liveCount++;
+        storeId(ordinal, employee.getId());
+        names[ordinal] = appendText(employee.getEmployeeName());
+        countName(employee.getEmployeeName(), 1);
+        salaries[ordinal] = employee.getEmployeeSalary() != null ? employee.getEmployeeSalary() : ABSENT;
+        ages[ordinal] = employee.getEmployeeAge() != null ? employee.getEmployeeAge() : ABSENT;
+        titles[ordinal] = titleDictionary.encode(employee.getEmployeeTitle());
+        String email = employee.getEmployeeEmail();
+        int at = email != null ? email.lastIndexOf('@') : -1;
+        emailLocals[ordinal] = appendText(at < 0 ? email : email.substring(0, at));
+        domains[ordinal] = at < 0 ? NULL_CODE : domainDictionary.encode(email.substring(at + 1));
+        return ordinal;
+    }
+
+    /**
+     * Makes the row findable by its id, unless it has none or another live row already claimed it.
+     */
+    void index(int ordinal) {
+        String id = id(ordinal);
+        if (id == null || ordinalOf(id) >= 0) {
+            return;
+        }
+        if ((usedSlots + 1) * 2 > slots.length) {
+            rehash();
+        }
+        insert(ordinal);
+    }
+
+    /**
+     * @return the ordinal of the live row with {@code id}, or -1
+     */
+    int ordinalOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        UUID uuid = canonicalUuid(id);
+        int mask = slots.length - 1;
+        for (int slot = (uuid != null ? hash(uuid) : hash(id)) & mask; ; slot = (slot + 1) & mask) {
+            int ordinal = slots[slot];
+            if (ordinal == EMPTY_SLOT) {
+                return -1;
+            }
+            if (ordinal >= 0 && hasId(ordinal, uuid, id)) {
+                return ordinal;
+            }
+        }
+    }
+
+    /**
+     * Tombstones the row and forgets its id; the row can still be read, but is no longer live.
+     */
+    void remove(int ordinal) {
+        if (removed.get(ordinal)) {
+            return;
+        }
+        removed.set(ordinal);
+        liveCount--;
+        countName(name(ordinal), -1);
+        if (id(ordinal) == null) {
+            return;
+        }
+        int mask = slots.length - 1;
+        for (int slot = hashAt(ordinal) & mask; slots[slot] != EMPTY_SLOT; slot = (slot + 1) & mask) {
+            if (slots[slot] == ordinal) {
+                slots[slot] = DELETED_SLOT;
+                return;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int liveCount() {
+        return liveCount;
+    }
+
+    boolean isLive(int ordinal) {
+        return ordinal < size && !removed.get(ordinal);
+    }
+
+    /**
+     * @return the ordinals of the live rows, ascending
+     */
+    int[] liveOrdinals() {
+        int[] ordinals = new int[liveCount];
+        for (int ordinal = 0, i = 0; ordinal < size; ordinal++) {
+            if (!removed.get(ordinal)) {
+                ordinals[i++] = ordinal;
+            }
+        }
+        return ordinals;
+    }
+
+    String id(int ordinal) {
+        if (irregularIds.get(ordinal)) {
+            return irregularIdValues.get(ordinal);
+        }
+        return new UUID(idHigh[ordinal], idLow[ordinal]).toString();
+    }
+
+    String name(int ordinal) {
+        return text(names[ordinal]);
+    }
+
+    /**
+     * @param folded the query, lower-cased with {@link java.util.Locale#ROOT}
+     * @return whether the name contains {@code folded} ignoring case; ASCII names are matched in place
+     */
+    boolean nameContains(int ordinal, String folded) {
+        long ref = names[ordinal];
+        if (ref == NULL_TEXT) {
+            return false;
+        }
+        int offset = offset(ref);
+        int length = length(ref);
+        if (!isAscii(folded) || !isAscii(text, offset, length)) {
+            return TrigramIndex.fold(text(ref)).contains(folded);
+        }
+        for (int start = offset, last = offset + length - folded.length(); start <= last; start++) {
+            int i = 0;
+            while (i < folded.length() && lowerAscii(text[start + i]) == folded.charAt(i)) {
+                i++;
+            }
+            if (i == folded.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of live rows, this one included if live, whose name the upstream would take for this row's
+     *     when deleting by name; may count too many, never too few
+     */
+    int namesakes(int ordinal) {
+        String name = name(ordinal);
+        if (name == null) {
+            return 0;
+        }
+        long key = nameKey(name);
+        int mask = nameKeys.length - 1;
+        for (int slot = mix(key) & mask; nameKeys[slot] != 0; slot = (slot + 1) & mask) {
+            if (nameKeys[slot] == key) {
+                return nameCounts[slot];
+            }
+        }
+        return 0;
+    }
+
+    boolean hasSalary(int ordinal) {
+        return salaries[ordinal] != ABSENT;
+    }
+
+    int salary(int ordinal) {
+        return salaries[ordinal];
+    }
+
+    boolean hasAge(int ordinal) {
+        return ages[ordinal] != ABSENT;
+    }
+
+    int age(int ordinal) {
+        return ages[ordinal];
+    }
+
+    /**
+     * @return the dictionary code of the title, or -1 if there is none; codes are dense, starting at 0
+     */
+    int titleCode(int ordinal) {
+        return titles[ordinal];
+    }
+
+    String title(int ordinal) {
+        return titleDictionary.decode(titles[ordinal]);
+    }
+
+    /**
+     * @return the title behind a code returned by {@link #titleCode}
+     */
+    String titleOf(int code) {
+        return titleDictionary.decode(code);
+    }
+
+    int titleCount() {
+        return titleDictionary.size();
+    }
+
+    /**
+     * @return the code of {@code title}, or -1 if no row has it
+     */
+    int titleCodeOf(String title) {
+        return titleDictionary.code(title);
+    }
+
+    String email(int ordinal) {
+        String local = text(emailLocals[ordinal]);
+        if (local == null || domains[ordinal] == NULL_CODE) {
+            return local;
+        }
+        return local + '@' + domainDictionary.decode(domains[ordinal]);
+    }
+
+    Employee toEmployee(int ordinal) {
+        return new Employee(
+                id(ordinal),
+                name(ordinal),
+                hasSalary(ordinal) ? salaries[ordinal] : null,
+                hasAge(ordinal) ? ages[ordinal] : null,
+                title(ordinal),
+                email(ordinal));
+    }
+
+    private void storeId(int ordinal, String id) {
+        UUID uuid = id != null ? canonicalUuid(id) : null;
+        if (uuid != null) {
+            idHigh[ordinal] = uuid.getMostSignificantBits();
+            idLow[ordinal] = uuid.getLeastSignificantBits();
+        } else {
+            irregularIds.set(ordinal);
+            irregularIdValues.put(ordinal, id);
+        }
+    }
+
+    private boolean hasId(int ordinal, UUID uuid, String id) {
+        if (irregularIds.get(ordinal)) {
+            return uuid == null && id.equals(irregularIdValues.get(ordinal));
+        }
+        return uuid != null
+                && idHigh[ordinal] == uuid.getMostSignificantBits()
+                && idLow[ordinal] == uuid.getLeastSignificantBits();
+    }
+
+    private int hashAt(int ordinal) {
+        if (irregularIds.get(ordinal)) {
+            return hash(irregularIdValues.get(ordinal));
+        }
+        return mix(idHigh[ordinal] ^ idLow[ordinal]);
+    }
+
+    private void insert(int ordinal) {
+        int mask = slots.length - 1;
+        int slot = hashAt(ordinal) & mask;
+        while (slots[slot] >= 0) {
+            slot = (slot + 1) & mask;
+        }
+        if (slots[slot] == EMPTY_SLOT) {
+            usedSlots++;
+        }
+        slots[slot] = ordinal;
+    }
+
+    /*
+     * Rebuilds the table without the deleted markers, at most half full afterwards.
+     */
+    private void rehash() {
+        List<Integer> indexed = new ArrayList<>();
+        for (int ordinal : slots) {
+            if (ordinal >= 0) {
+                indexed.add(ordinal);
+            }
+        }
+        slots = emptySlots(Integer.highestOneBit(Math.max(8, indexed.size() + 1) * 4 - 1));
+        usedSlots = 0;
+        for (int ordinal : indexed) {
+            insert(ordinal);
+        }
+    }
+
+    private void countName(String name, int delta) {
+        if (name == null) {
+            return;
+        }
+        if ((usedNameKeys + 1) * 2 > nameKeys.length) {
+            rehashNames();
+        }
+        long key = nameKey(name);
+        int mask = nameKeys.length - 1;
+        int slot = mix(key) & mask;
+        while (nameKeys[slot] != 0 && nameKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (nameKeys[slot] == 0) {
+            nameKeys[slot] = key;
+            usedNameKeys++;
+        }
+        nameCounts[slot] += delta;
+    }
+
+    /*
+     * Rebuilds the name table without the names no live row holds any more, at most half full afterwards.
+     */
+    private void rehashNames() {
+        long[] oldKeys = nameKeys;
+        int[] oldCounts = nameCounts;
+        int held = 0;
+        for (int count : oldCounts) {
+            if (count > 0) {
+                held++;
+            }
+        }
+        int length = Integer.highestOneBit(Math.max(8, held + 1) * 4 - 1);
+        nameKeys = new long[length];
+        nameCounts = new int[length];
+        usedNameKeys = 0;
+        int mask = length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] > 0) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (nameKeys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                nameKeys[slot] = oldKeys[i];
+                nameCounts[slot] = oldCounts[i];
+                usedNameKeys++;
+            }
+        }
+    }
+
+    private void grow() {
+        int capacity = size + (size >> 1);
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        names = Arrays.copyOf(names, capacity);
+        emailLocals = Arrays.copyOf(emailLocals, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        domains = Arrays.copyOf(domains, capacity);
+    }
+
+    /*
+     * A reference packs the offset into the arena (high 32 bits) and the length in bytes (low 32 bits).
+     */
+    private long appendText(String value) {
+        if (value == null) {
+            return NULL_TEXT;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (textLength + bytes.length > text.length) {
+            text = Arrays.copyOf(text, Math.max(textLength + bytes.length, text.length + (text.length >> 1)));
+        }
+        System.arraycopy(bytes, 0, text, textLength, bytes.length);
+        long ref = ((long) textLength << 32) | bytes.length;
+        textLength += bytes.length;
+        return ref;
+    }
+
+    private String text(long ref) {
+        return ref == NULL_TEXT ? null : new String(text, offset(ref), length(ref), StandardCharsets.UTF_8);
+    }
+
+    private static int offset(long ref) {
+        return (int) (ref >>> 32);
+    }
+
+    private static int length(long ref) {
+        return (int) ref;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAscii(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char lowerAscii(byte b) {
+        return (char) (b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b);
+    }
+
+    /**
+     * @return the id as a UUID if it is one in the canonical lower-case form, so it can be stored as two longs and
+     *     restored exactly
+     */
+    private static UUID canonicalUuid(String id) {
+        if (id.length() != UUID_LENGTH) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /*
+     * FNV-1a over the name folded like the upstream folds it, upper then lower case; never 0, which marks a free slot.
+     */
+    private static long nameKey(String name) {
+        String folded = name.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < folded.length(); i++) {
+            hash = (hash ^ folded.charAt(i)) * 0x100000001B3L;
+        }
+        return hash != 0 ? hash : 1;
+    }
+
+    private static int hash(UUID uuid) {
+        return mix(uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits());
+    }
+
+    private static int hash(String id) {
+        return mix(id.hashCode());
+    }
+
+    private static int mix(long value) {
+        long mixed = value * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private static int[] emptySlots(int length) {
+        int[] empty = new int[length];
+        Arrays.fill(empty, EMPTY_SLOT);
+        return empty;
+    }
+
+    /**
+     * Interns the distinct values of a low-cardinality column as dense {@code int} codes.
+     */
+    private static class Dictionary {
+
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NULL_CODE;
+            }
+            return codes.computeIfAbsent(value, added -> {
+                values.add(added);
+                return values.size() - 1;
+            });
+        }
+
+        int code(String value) {
+            Integer code = value == null ? null : codes.get(value);
+            return code == null ? NULL_CODE : code;
+        }
+
+        String decode(int code) {
+            return code == NULL_CODE ? null : values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
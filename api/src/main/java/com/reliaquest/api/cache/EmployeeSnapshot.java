@@ -0,0 +1,288 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.SalaryAnalytics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-memory copy of the upstream employee roster, shared by every read path in the api.
+ *
+ * <p>Rows keep the upstream order and are addressed by ordinal. Local patches append new rows and tombstone deleted
+ * ones, so ordinals stay stable until the snapshot is replaced by a full reload. Every change, including the initial
+ * load, takes a new number from the shared version sequence. Indexes are built once per load and patched together with
+ * the rows, under the same lock; the range indexes buffer their patches until the next read.
+ *
+ * <p>Rows are stored column-wise in {@link EmployeeColumns} rather than as {@link Employee} objects. Lookups and search
+ * work on the columns, {@link #forEach} hands out a flyweight {@link EmployeeView}, and {@link Employee}s are only
+ * created for what is returned, the whole roster one at a time as the response is written.
+ */
+public class EmployeeSnapshot {
+
+    private final AtomicLong versions;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final EmployeeColumns rows;
+    private final RangeIndex salaryIndex;
+    private final RangeIndex ageIndex;
+    private final TitleIndex titleIndex;
+    private final TrigramIndex nameIndex;
+    private final QueryPlanner planner;
+
+    private volatile long version;
+    private volatile List<Employee> employees;
+    private volatile Analyzed analyzed;
+
+    public EmployeeSnapshot(List<Employee> employees, AtomicLong versions) {
+        this.versions = versions;
+        this.rows = new EmployeeColumns(employees.size());
+        for (Employee employee : employees) {
+            rows.index(rows.append(employee));
+        }
+        this.salaryIndex = new RangeIndex(rows::hasSalary, rows::salary);
+        this.ageIndex = new RangeIndex(rows::hasAge, rows::age);
+        this.titleIndex = new TitleIndex(rows);
+        this.nameIndex = new TrigramIndex(rows);
+        this.planner = new QueryPlanner(rows, salaryIndex, ageIndex, titleIndex);
+        salaryIndex.addAll(rows);
+        ageIndex.addAll(rows);
+        titleIndex.addAll();
+        nameIndex.addAll();
+        this.version = versions.incrementAndGet();
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @return immutable view of the live employees in upstream order, as of this call; its elements are created as they
+     *     are read and not kept. The same {@link EncodedList} is returned until the snapshot next changes, so its
+     *     encoding is shared by every response in between.
+     */
+    public List<Employee> employees() {
+        List<Employee> view = employees;
+        if (view != null) {
+            return view;
+        }
+        return read(() -> {
+            employees = new LiveEmployees(rows.liveOrdinals());
+            return employees;
+        });
+    }
+
+    public int size() {
+        return read(rows::liveCount);
+    }
+
+    /**
+     * @return rows removed since the snapshot was loaded; they keep their storage, id slot and name postings until the
+     *     snapshot is replaced
+     */
+    public int removedCount() {
+        return read(() -> rows.size() - rows.liveCount());
+    }
+
+    public Optional<Employee> findById(String id) {
+        return read(() -> {
+            int ordinal = rows.ordinalOf(id);
+            return ordinal < 0 ? Optional.empty() : Optional.of(rows.toEmployee(ordinal));
+        });
+    }
+
+    /**
+     * @return the name of employee {@code id}, unless it is unknown or another live employee has the same name ignoring
+     *     case, in which case the upstream, which deletes the oldest employee with a given name, might delete that one
+     */
+    public Optional<String> uniqueName(String id) {
+        return read(() -> {
+            int ordinal = rows.ordinalOf(id);
+            if (ordinal < 0 || rows.namesakes(ordinal) != 1) {
+                return Optional.empty();
+            }
+            return Optional.of(rows.name(ordinal));
+        });
+    }
+
+    /**
+     * Calls {@code action} for every live employee in roster order, with a view that is moved from row to row. The
+     * snapshot cannot change while this runs.
+     */
+    public void forEach(Consumer<EmployeeView> action) {
+        read(() -> {
+            EmployeeView view = new EmployeeView(rows);
+            for (int ordinal = 0; ordinal < rows.size(); ordinal++) {
+                if (rows.isLive(ordinal)) {
+                    action.accept(view.moveTo(ordinal));
+                }
+            }
+            return null;
+        });
+    }
+
+    public OptionalInt highestSalary() {
+        return read(() -> {
+            int size = salaryIndex.size();
+            return size == 0 ? OptionalInt.empty() : OptionalInt.of(salaryIndex.value(size - 1));
+        });
+    }
+
+    /**
+     * @return the {@code limit} best paid employees, highest salary first and roster order for ties
+     */
+    public List<Employee> topEarners(int limit) {
+        return read(() -> collect(salaryIndex.top(limit)));
+    }
+
+    /**
+     * @return employees whose name contains {@code searchString} ignoring case, in roster order
+     */
+    public List<Employee> searchByName(String searchString) {
+        return read(() -> collect(nameIndex.search(searchString)));
+    }
+
+    /**
+     * @return the page of employees matching every filter of {@code query}, in the order it asks for
+     */
+    public List<Employee> query(EmployeeQuery query) {
+        return read(() -> collect(planner.execute(query)));
+    }
+
+    /**
+     * @return salary statistics per title and age band, computed in one pass and kept until the snapshot next changes
+     */
+    public SalaryAnalytics salaryAnalytics() {
+        return read(() -> {
+            Analyzed current = analyzed;
+            if (current == null || current.version() != version) {
+                current = new Analyzed(version, SalaryAnalyzer.analyze(rows));
+                analyzed = current;
+            }
+            return current.analytics();
+        });
+    }
+
+    /**
+     * Appends an employee created through the api. Adding an id that is already present is a no-op, which makes
+     * replaying the same patch onto a freshly loaded snapshot safe.
+     */
+    public boolean add(Employee employee) {
+        if (employee == null || employee.getId() == null) {
+            return false;
+        }
+        return write(() -> {
+            if (rows.ordinalOf(employee.getId()) >= 0) {
+                return false;
+            }
+            int ordinal = rows.append(employee);
+            rows.index(ordinal);
+            salaryIndex.add(ordinal);
+            ageIndex.add(ordinal);
+            titleIndex.add(ordinal);
+            nameIndex.add(ordinal);
+            changed();
+            return true;
+        });
+    }
+
+    /**
+     * Tombstones the employee with the given id. Removing an unknown id is a no-op.
+     */
+    public Optional<Employee> remove(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return write(() -> {
+            int ordinal = rows.ordinalOf(id);
+            if (ordinal < 0) {
+                return Optional.empty();
+            }
+            Employee removed = rows.toEmployee(ordinal);
+            rows.remove(ordinal);
+            salaryIndex.remove(ordinal);
+            ageIndex.remove(ordinal);
+            titleIndex.remove(ordinal);
+            changed();
+            return Optional.of(removed);
+        });
+    }
+
+    private List<Employee> collect(int[] ordinals) {
+        List<Employee> employees = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            employees.add(rows.toEmployee(ordinal));
+        }
+        return employees;
+    }
+
+    /*
+     * Pending range index patches are merged first, under the write lock, which is then downgraded so no other patch
+     * can slip in before the action reads the indexes.
+     */
+    private <R> R read(Supplier<R> action) {
+        lock.readLock().lock();
+        if (salaryIndex.hasPending() || ageIndex.hasPending()) {
+            lock.readLock().unlock();
+            lock.writeLock().lock();
+            try {
+                salaryIndex.merge();
+                ageIndex.merge();
+                lock.readLock().lock();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <R> R write(Supplier<R> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void changed() {
+        employees = null;
+        version = versions.incrementAndGet();
+    }
+
+    private record Analyzed(long version, SalaryAnalytics analytics) {}
+
+    /*
+     * Rows are only ever appended or tombstoned, so the rows behind these ordinals keep their values after later
+     * changes; reading them under the read lock publishes columns grown by a later append safely.
+     */
+    private class LiveEmployees extends EncodedList<Employee> {
+
+        private final int[] ordinals;
+
+        LiveEmployees(int[] ordinals) {
+            this.ordinals = ordinals;
+        }
+
+        @Override
+        public Employee get(int index) {
+            int ordinal = ordinals[index];
+            return read(() -> rows.toEmployee(ordinal));
+        }
+
+        @Override
+        public int size() {
+            return ordinals.length;
+        }
+    }
+}
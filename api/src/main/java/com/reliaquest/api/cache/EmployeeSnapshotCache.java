@@ -0,0 +1,352 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stale-while-revalidate holder for the {@link EmployeeSnapshot}.
+ *
+ * <p>Only the very first read blocks on the upstream. Once a snapshot exists it is always served immediately; when it
+ * is older than the TTL (or has been invalidated) a single background reload is started and the stale copy keeps being
+ * served until the reload completes. Writes made through the api are patched into the current snapshot and replayed
+ * onto any reload that was in flight while they happened, so a refresh cannot resurrect or drop them.
+ *
+ * <p>Reloads are conditional: the loader is handed the entity tag of the roster behind the current snapshot, and when
+ * it reports the roster as unchanged the snapshot is simply marked fresh again instead of being rebuilt.
+ *
+ * <p>Patched deletes only tombstone rows, so a snapshot kept fresh by {@link #confirmFresh} would grow without bound
+ * under churn. Once a quarter of its rows, and at least {@value #MIN_REMOVED_TO_REBUILD}, are removed ones, it is
+ * invalidated instead, and the reload that follows rebuilds it compactly.
+ */
+@Slf4j
+public class EmployeeSnapshotCache {
+
+    static final int MIN_REMOVED_TO_REBUILD = 1_000;
+
+    private final Function<String, Roster> loader;
+    private final Duration ttl;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicInteger loadsInFlight = new AtomicInteger();
+    private final AtomicLong invalidations = new AtomicLong();
+    /*
+     * Locks rather than monitors, so virtual threads waiting on them do not pin their carriers; the load lock is held
+     * across the blocking first load.
+     */
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final ReentrantLock patchLock = new ReentrantLock();
+    private final List<Consumer<EmployeeSnapshot>> pendingPatches = new ArrayList<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder lookupHits = new LongAdder();
+    private final LongAdder lookupMisses = new LongAdder();
+    private final LongAdder nameHits = new LongAdder();
+    private final LongAdder nameMisses = new LongAdder();
+
+    private volatile EmployeeSnapshot snapshot;
+    private volatile String etag;
+    private volatile Instant refreshedAt = Instant.MIN;
+    private volatile boolean invalidated;
+
+    public EmployeeSnapshotCache(Supplier<List<Employee>> loader, Duration ttl, Executor refreshExecutor) {
+        this(loader, ttl, refreshExecutor, Clock.systemUTC());
+    }
+
+    public EmployeeSnapshotCache(Supplier<List<Employee>> loader, Duration ttl, Executor refreshExecutor, Clock clock) {
+        this(
+                ignored -> {
+                    List<Employee> employees = loader.get();
+                    return new Roster(employees != null ? employees : List.of(), null);
+                },
+                ttl,
+                refreshExecutor,
+                clock);
+    }
+
+    /**
+     * @param loader fetches the roster, given the entity tag of the current one or {@code null} if there is none
+     */
+    public EmployeeSnapshotCache(Function<String, Roster> loader, Duration ttl, Executor refreshExecutor) {
+        this(loader, ttl, refreshExecutor, Clock.systemUTC());
+    }
+
+    public EmployeeSnapshotCache(Function<String, Roster> loader, Duration ttl, Executor refreshExecutor, Clock clock) {
+        this.loader = loader;
+        this.ttl = ttl;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the current snapshot, loading it synchronously only if none has been loaded yet
+     */
+    public EmployeeSnapshot get() {
+        EmployeeSnapshot current = snapshot;
+        if (current == null) {
+            misses.increment();
+            return loadBlocking();
+        }
+        if (isExpired()) {
+            staleHits.increment();
+            refreshInBackground();
+        } else {
+            hits.increment();
+        }
+        return current;
+    }
+
+    /**
+     * @return the current snapshot without loading or refreshing it, or {@code null} if none has been loaded yet
+     */
+    public EmployeeSnapshot peek() {
+        return snapshot;
+    }
+
+    /**
+     * Looks {@code id} up in the current snapshot without loading or refreshing it.
+     */
+    public Optional<Employee> findById(String id) {
+        EmployeeSnapshot current = snapshot;
+        Optional<Employee> found = current != null ? current.findById(id) : Optional.empty();
+        (found.isPresent() ? lookupHits : lookupMisses).increment();
+        return found;
+    }
+
+    /**
+     * Looks up the name of {@code id} in the current snapshot without loading or refreshing it, for a delete by name.
+     *
+     * @return the name, unless the employee is unknown or another one has the same name; see
+     *     {@link EmployeeSnapshot#uniqueName}
+     */
+    public Optional<String> uniqueName(String id) {
+        EmployeeSnapshot current = snapshot;
+        Optional<String> name = current != null ? current.uniqueName(id) : Optional.empty();
+        (name.isPresent() ? nameHits : nameMisses).increment();
+        return name;
+    }
+
+    public void bindTo(MeterRegistry meterRegistry) {
+        requests(meterRegistry, "hit", hits);
+        requests(meterRegistry, "stale", staleHits);
+        requests(meterRegistry, "miss", misses);
+        FunctionCounter.builder("employee.cache.lookups", lookupHits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.cache.lookups", lookupMisses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.names.lookups", nameHits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.names.lookups", nameMisses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("employee.cache.size", this, cache -> {
+                    EmployeeSnapshot current = cache.snapshot;
+                    return current != null ? current.size() : 0;
+                })
+                .register(meterRegistry);
+    }
+
+    /**
+     * Marks the current snapshot as expired. It keeps being served until the background reload replaces it. A load
+     * already in flight when this is called may have read the roster before whatever prompted it, so the snapshot it
+     * installs is expired as well.
+     */
+    public void invalidate() {
+        invalidations.incrementAndGet();
+        invalidated = true;
+    }
+
+    /**
+     * Restarts the TTL of the current snapshot, for a caller that knows it to be current, e.g. because every change
+     * since it was loaded has been applied to it. An invalidated snapshot stays expired, and one carrying too many
+     * removed rows is invalidated so it gets rebuilt.
+     */
+    public void confirmFresh() {
+        patchLock.lock();
+        try {
+            EmployeeSnapshot current = snapshot;
+            if (current == null || invalidated) {
+                return;
+            }
+            int removed = current.removedCount();
+            if (removed >= MIN_REMOVED_TO_REBUILD && removed >= (removed + current.size()) / 4) {
+                log.debug("Employee snapshot v{} carries {} removed rows, rebuilding it", current.version(), removed);
+                invalidate();
+            } else {
+                refreshedAt = clock.instant();
+            }
+        } finally {
+            patchLock.unlock();
+        }
+    }
+
+    public void applyCreated(Employee employee) {
+        patch(current -> current.add(employee));
+    }
+
+    public void applyDeleted(String id) {
+        patch(current -> current.remove(id));
+    }
+
+    private static void requests(MeterRegistry meterRegistry, String result, LongAdder count) {
+        FunctionCounter.builder("employee.cache.requests", count, LongAdder::sum)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private boolean isExpired() {
+        return invalidated || refreshedAt.plus(ttl).isBefore(clock.instant());
+    }
+
+    private EmployeeSnapshot loadBlocking() {
+        loadLock.lock();
+        try {
+            EmployeeSnapshot current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            return load();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load();
+                } catch (Exception e) {
+                    log.warn(
+                            "Background employee refresh failed, still serving snapshot v{}: {}",
+                            snapshot.version(),
+                            e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+            log.warn("Background employee refresh rejected: {}", e.getMessage());
+        }
+    }
+
+    private EmployeeSnapshot load() {
+        loadsInFlight.incrementAndGet();
+        long invalidationsSeen = invalidations.get();
+        Roster roster;
+        try {
+            EmployeeSnapshot current = snapshot;
+            roster = loader.apply(current != null ? etag : null);
+            if (roster.isNotModified() && current == null) {
+                throw new IllegalStateException("Upstream reported the roster unchanged but none has been loaded");
+            }
+        } catch (RuntimeException e) {
+            loadFailed();
+            throw e;
+        }
+        return roster.isNotModified() ? touch(invalidationsSeen) : install(roster, invalidationsSeen);
+    }
+
+    /*
+     * Patches made while the conditional request was in flight were already applied to the current snapshot.
+     */
+    private EmployeeSnapshot touch(long invalidationsSeen) {
+        patchLock.lock();
+        try {
+            loadFinished();
+            refreshedAt = clock.instant();
+            invalidated = invalidations.get() != invalidationsSeen;
+            log.debug("Employee snapshot v{} unchanged upstream", snapshot.version());
+            return snapshot;
+        } finally {
+            patchLock.unlock();
+        }
+    }
+
+    /*
+     * The snapshot is built before taking the lock, so patches and heartbeats do not wait for its indexes; every patch
+     * made since the load started is still pending and is replayed onto it under the lock.
+     */
+    private EmployeeSnapshot install(Roster roster, long invalidationsSeen) {
+        EmployeeSnapshot loaded;
+        try {
+            loaded = new EmployeeSnapshot(roster.employees(), versions);
+        } catch (RuntimeException e) {
+            loadFailed();
+            throw e;
+        }
+        patchLock.lock();
+        try {
+            pendingPatches.forEach(pending -> pending.accept(loaded));
+            loadFinished();
+            snapshot = loaded;
+            etag = roster.etag();
+            refreshedAt = clock.instant();
+            invalidated = invalidations.get() != invalidationsSeen;
+            log.debug("Loaded employee snapshot v{} with {} employees", loaded.version(), loaded.size());
+            return loaded;
+        } finally {
+            patchLock.unlock();
+        }
+    }
+
+    private void loadFailed() {
+        patchLock.lock();
+        try {
+            loadFinished();
+        } finally {
+            patchLock.unlock();
+        }
+    }
+
+    private void loadFinished() {
+        if (loadsInFlight.decrementAndGet() == 0) {
+            pendingPatches.clear();
+        }
+    }
+
+    private void patch(Consumer<EmployeeSnapshot> change) {
+        patchLock.lock();
+        try {
+            EmployeeSnapshot current = snapshot;
+            if (current != null) {
+                change.accept(current);
+            }
+            if (loadsInFlight.get() > 0) {
+                pendingPatches.add(change);
+            }
+        } finally {
+            patchLock.unlock();
+        }
+    }
+}
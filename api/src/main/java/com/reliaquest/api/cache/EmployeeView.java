@@ -0,0 +1,64 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+
+/**
+ * Read-only view of one row of an {@link EmployeeSnapshot}, as handed to {@link EmployeeSnapshot#forEach}.
+ *
+ * <p>A single instance is moved from row to row and is only valid inside the callback, so copy out whatever you keep.
+ * Numbers and titles are read straight from the columns without allocating; the id, name and email are decoded on each
+ * call.
+ */
+public final class EmployeeView {
+
+    private final EmployeeColumns rows;
+    private int ordinal;
+
+    EmployeeView(EmployeeColumns rows) {
+        this.rows = rows;
+    }
+
+    EmployeeView moveTo(int ordinal) {
+        this.ordinal = ordinal;
+        return this;
+    }
+
+    public String id() {
+        return rows.id(ordinal);
+    }
+
+    public String name() {
+        return rows.name(ordinal);
+    }
+
+    public boolean hasSalary() {
+        return rows.hasSalary(ordinal);
+    }
+
+    public int salary() {
+        return rows.salary(ordinal);
+    }
+
+    public boolean hasAge() {
+        return rows.hasAge(ordinal);
+    }
+
+    public int age() {
+        return rows.age(ordinal);
+    }
+
+    /**
+     * @return the title, shared by every row with the same title
+     */
+    public String title() {
+        return rows.title(ordinal);
+    }
+
+    public String email() {
+        return rows.email(ordinal);
+    }
+
+    public Employee toEmployee() {
+        return rows.toEmployee(ordinal);
+    }
+}
@@ -0,0 +1,96 @@
+package com.reliaquest.api.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable list that keeps the bytes it was first encoded to, so every later response serving the same list writes
+ * them out as they are instead of serializing each element again. A gzip copy is made from them the first time it is
+ * asked for.
+ *
+ * <p>The first encoding is kept whatever encoder later calls pass, so all callers are expected to use the same one.
+ * Concurrent first calls wait for a single encoding rather than each running their own.
+ *
+ * @param <E> element type
+ */
+public abstract class EncodedList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final ReentrantLock encodeLock = new ReentrantLock();
+
+    private volatile Encoded encoded;
+
+    /**
+     * @return the bytes {@code encoder} turns this list into, encoding it only on the first call
+     */
+    public Encoded encode(Encoder<? super List<E>> encoder) throws IOException {
+        Encoded current = encoded;
+        if (current != null) {
+            return current;
+        }
+        encodeLock.lock();
+        try {
+            if (encoded == null) {
+                encoded = new Encoded(encoder.encode(this));
+            }
+            return encoded;
+        } finally {
+            encodeLock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Encoder<T> {
+
+        byte[] encode(T value) throws IOException;
+    }
+
+    /**
+     * Encoded form of a list, as is and gzip-compressed. Callers must not modify the arrays.
+     */
+    public static final class Encoded {
+
+        private final ReentrantLock gzipLock = new ReentrantLock();
+        private final byte[] bytes;
+
+        private volatile byte[] gzipped;
+
+        Encoded(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        public byte[] bytes() {
+            return bytes;
+        }
+
+        public byte[] gzipped() {
+            byte[] current = gzipped;
+            if (current != null) {
+                return current;
+            }
+            gzipLock.lock();
+            try {
+                if (gzipped == null) {
+                    gzipped = gzip(bytes);
+                }
+                return gzipped;
+            } finally {
+                gzipLock.unlock();
+            }
+        }
+
+        private static byte[] gzip(byte[] bytes) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed, 1 << 16)) {
+                out.write(bytes);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to compress in memory", e);
+            }
+            return compressed.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.EmployeeQuery.SortKey;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.function.IntPredicate;
+
+/**
+ * Answers an {@link EmployeeQuery} from the indexes of an {@link EmployeeSnapshot}.
+ *
+ * <p>The filter with the fewest candidates drives the query: the title bitmap, or the salary or age range, each of
+ * which knows its size before any row is read. Only those candidates are checked against the other filters, straight
+ * on the columns. A query sorted by salary or age may instead walk that index in order and stop once the page is full;
+ * the walk is chosen when it is expected to fill the page within as many rows as the driving filter would read. Must
+ * run under the snapshot's read lock.
+ */
+class QueryPlanner {
+
+    private final EmployeeColumns rows;
+    private final RangeIndex salaries;
+    private final RangeIndex ages;
+    private final TitleIndex titles;
+
+    QueryPlanner(EmployeeColumns rows, RangeIndex salaries, RangeIndex ages, TitleIndex titles) {
+        this.rows = rows;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.titles = titles;
+    }
+
+    /**
+     * @return the ordinals of the requested page, in the requested order
+     */
+    int[] execute(EmployeeQuery query) {
+        Page page = new Page(query.getOffset(), query.getLimit());
+        if (page.full()) {
+            return page.ordinals();
+        }
+        Plan plan = new Plan(query);
+        SortKey sortKey = query.sortKey();
+        Range sorted = sortKey == SortKey.SALARY ? plan.salaryRange : sortKey == SortKey.AGE ? plan.ageRange : null;
+        IntPredicate offerMatch = ordinal -> !plan.matches(ordinal) || page.offer(ordinal);
+        if (sorted != null && plan.prefersWalking(sorted)) {
+            sorted.index.forEach(sorted.from, sorted.to, query.descending(), offerMatch);
+            if (!page.full() && !sorted.filtered) {
+                plan.forEachCandidate(ordinal -> sorted.index.hasValue(ordinal) || offerMatch.test(ordinal));
+            }
+            return page.ordinals();
+        }
+        if (sortKey == null && plan.driver == null) {
+            plan.forEachCandidate(offerMatch);
+            return page.ordinals();
+        }
+        int[] matches = plan.matches();
+        if (sortKey == SortKey.NAME) {
+            matches = sortByName(matches, query.descending());
+        } else if (sorted != null) {
+            matches = sortByValue(matches, sorted.index, query.descending());
+        }
+        for (int i = 0; i < matches.length && page.offer(matches[i]); i++) {}
+        return page.ordinals();
+    }
+
+    /*
+     * Borrows the ordering of the range index: by value with ties in roster order, followed by the rows without a
+     * value in roster order.
+     */
+    private static int[] sortByValue(int[] matches, RangeIndex index, boolean descending) {
+        RangeIndex ordered = index.copyOf(matches);
+        int[] sorted = new int[matches.length];
+        int[] length = {0};
+        ordered.forEach(0, ordered.size(), descending, ordinal -> {
+            sorted[length[0]++] = ordinal;
+            return true;
+        });
+        for (int ordinal : matches) {
+            if (!ordered.hasValue(ordinal)) {
+                sorted[length[0]++] = ordinal;
+            }
+        }
+        return sorted;
+    }
+
+    /*
+     * Names are decoded once up front rather than on every comparison; the sort is stable, so ties keep the roster
+     * order of the matches.
+     */
+    private int[] sortByName(int[] matches, boolean descending) {
+        Comparator<String> names = String.CASE_INSENSITIVE_ORDER;
+        Comparator<String> byName = Comparator.nullsLast(descending ? names.reversed() : names);
+        String[] decoded = new String[matches.length];
+        Integer[] order = new Integer[matches.length];
+        for (int i = 0; i < matches.length; i++) {
+            decoded[i] = rows.name(matches[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> byName.compare(decoded[a], decoded[b]));
+        int[] sorted = new int[matches.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = matches[order[i]];
+        }
+        return sorted;
+    }
+
+    /**
+     * The filters of one query resolved against the indexes, and the range that drives it, if any.
+     */
+    private class Plan {
+
+        private final EmployeeQuery query;
+        private final BitSet titled;
+        private final Range salaryRange;
+        private final Range ageRange;
+        private final Range driver;
+        private final int candidates;
+
+        Plan(EmployeeQuery query) {
+            this.query = query;
+            this.titled = query.filtersTitle() ? titles.matching(query.getTitle()) : null;
+            this.salaryRange = new Range(salaries, query.getMinSalary(), query.getMaxSalary());
+            this.ageRange = new Range(ages, query.getMinAge(), query.getMaxAge());
+            Range driver = null;
+            int candidates = titled != null ? titled.cardinality() : rows.liveCount();
+            for (Range range : new Range[] {salaryRange, ageRange}) {
+                if (range.filtered && range.size() < candidates) {
+                    driver = range;
+                    candidates = range.size();
+                }
+            }
+            this.driver = driver;
+            this.candidates = candidates;
+        }
+
+        boolean matches(int ordinal) {
+            return rows.isLive(ordinal)
+                    && (titled == null || titled.get(ordinal))
+                    && (!salaryRange.filtered || salaryRange.contains(rows.hasSalary(ordinal), rows.salary(ordinal)))
+                    && (!ageRange.filtered || ageRange.contains(rows.hasAge(ordinal), rows.age(ordinal)));
+        }
+
+        /*
+         * Assuming the filters are independent of the sort order, about candidates / sorted.size() of the walked
+         * entries match, so the page is full after (offset + limit) * sorted.size() / candidates entries.
+         */
+        boolean prefersWalking(Range sorted) {
+            if (sorted == driver) {
+                return true;
+            }
+            return (double) query.end() * sorted.size() / Math.max(1, candidates) <= candidates;
+        }
+
+        /**
+         * Visits the rows of the title bitmap, or else every row, in roster order until {@code visitor} returns false.
+         */
+        void forEachCandidate(IntPredicate visitor) {
+            if (titled != null) {
+                for (int ordinal = titled.nextSetBit(0); ordinal >= 0; ordinal = titled.nextSetBit(ordinal + 1)) {
+                    if (!visitor.test(ordinal)) {
+                        return;
+                    }
+                }
+                return;
+            }
+            for (int ordinal = 0; ordinal < rows.size(); ordinal++) {
+                if (!visitor.test(ordinal)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * @return every match in roster order, read from the driving range or else the candidates
+         */
+        int[] matches() {
+            int[] matches = new int[candidates];
+            int[] length = {0};
+            IntPredicate collect = ordinal -> {
+                if (matches(ordinal)) {
+                    matches[length[0]++] = ordinal;
+                }
+                return true;
+            };
+            if (driver == null) {
+                forEachCandidate(collect);
+                return Arrays.copyOf(matches, length[0]);
+            }
+            driver.index.forEach(driver.from, driver.to, false, collect);
+            int[] inRosterOrder = Arrays.copyOf(matches, length[0]);
+            Arrays.sort(inRosterOrder);
+            return inRosterOrder;
+        }
+    }
+
+    /**
+     * Entries of a range index between two inclusive bounds; every entry when neither is given.
+     */
+    private static class Range {
+
+        private final RangeIndex index;
+        private final boolean filtered;
+        private final int min;
+        private final int max;
+        private final int from;
+        private final int to;
+
+        Range(RangeIndex index, Integer min, Integer max) {
+            this.index = index;
+            this.filtered = min != null || max != null;
+            this.min = min == null ? Integer.MIN_VALUE : min;
+            this.max = max == null ? Integer.MAX_VALUE : max;
+            this.from = index.from(this.min);
+            this.to = index.to(this.max);
+        }
+
+        int size() {
+            return to - from;
+        }
+
+        boolean contains(boolean hasValue, int value) {
+            return hasValue && value >= min && value <= max;
+        }
+    }
+
+    /**
+     * Skips the first {@code offset} ordinals offered and keeps up to {@code limit} of the rest.
+     */
+    private static class Page {
+
+        private final int offset;
+        private final int[] ordinals;
+
+        private int offered;
+        private int length;
+
+        Page(int offset, int limit) {
+            this.offset = offset;
+            this.ordinals = new int[limit];
+        }
+
+        /**
+         * @return whether the page wants more ordinals
+         */
+        boolean offer(int ordinal) {
+            if (offered++ >= offset) {
+                ordinals[length++] = ordinal;
+            }
+            return !full();
+        }
+
+        boolean full() {
+            return length == ordinals.length;
+        }
+
+        int[] ordinals() {
+            return Arrays.copyOf(ordinals, length);
+        }
+    }
+}
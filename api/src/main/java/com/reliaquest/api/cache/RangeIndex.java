@@ -0,0 +1,230 @@
+package com.reliaquest.api.cache;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Value-ordered index over the ordinals of an {@link EmployeeSnapshot}, for one {@code int} column.
+ *
+ * <p>Each live row with a value is one entry, packed as value and ordinal into a sorted {@code long[]}. A range of
+ * values is found with two binary searches, so its size is known before a single row is read, and ties sort by
+ * ordinal, i.e. in roster order.
+ *
+ * <p>Patches do not touch the sorted array; they are buffered as pending additions and removals and folded in by
+ * {@link #merge}, which sorts the few pending keys and moves each entry at most once. A burst of patches therefore
+ * costs one pass over the array rather than one shift per patch, and a patch itself is constant time. The queries below
+ * only see merged entries, so the owning snapshot merges before reading; a writer merges once
+ * {@value #MAX_PENDING} patches are pending. Not thread-safe; the owning snapshot guards it with its read/write lock.
+ */
+class RangeIndex {
+
+    private static final long ORDINAL_MASK = 0xFFFFFFFFL;
+    private static final int MAX_PENDING = 1 << 12;
+
+    private final IntPredicate hasValue;
+    private final IntUnaryOperator value;
+
+    private long[] keys = new long[0];
+    private int size;
+    private long[] added = new long[16];
+    private int addedCount;
+    private long[] removed = new long[16];
+    private int removedCount;
+
+    RangeIndex(IntPredicate hasValue, IntUnaryOperator value) {
+        this.hasValue = hasValue;
+        this.value = value;
+    }
+
+    /**
+     * Bulk load for a freshly built snapshot; removed rows and rows without a value are skipped.
+     */
+    void addAll(EmployeeColumns rows) {
+        keys = new long[rows.liveCount()];
+        size = 0;
+        for (int ordinal = 0; ordinal < rows.size(); ordinal++) {
+            if (rows.isLive(ordinal) && hasValue.test(ordinal)) {
+                keys[size++] = key(ordinal);
+            }
+        }
+        Arrays.sort(keys, 0, size);
+    }
+
+    /**
+     * @return a new index over just {@code ordinals}, e.g. to order a query result by this column
+     */
+    RangeIndex copyOf(int[] ordinals) {
+        RangeIndex copy = new RangeIndex(hasValue, value);
+        copy.keys = new long[ordinals.length];
+        for (int ordinal : ordinals) {
+            if (hasValue.test(ordinal)) {
+                copy.keys[copy.size++] = key(ordinal);
+            }
+        }
+        Arrays.sort(copy.keys, 0, copy.size);
+        return copy;
+    }
+
+    void add(int ordinal) {
+        if (!hasValue.test(ordinal)) {
+            return;
+        }
+        if (addedCount == added.length) {
+            added = Arrays.copyOf(added, addedCount * 2);
+        }
+        added[addedCount++] = key(ordinal);
+        mergeIfFull();
+    }
+
+    void remove(int ordinal) {
+        if (!hasValue.test(ordinal)) {
+            return;
+        }
+        long key = key(ordinal);
+        for (int i = addedCount - 1; i >= 0; i--) {
+            if (added[i] == key) {
+                added[i] = added[--addedCount];
+                return;
+            }
+        }
+        if (removedCount == removed.length) {
+            removed = Arrays.copyOf(removed, removedCount * 2);
+        }
+        removed[removedCount++] = key;
+        mergeIfFull();
+    }
+
+    boolean hasPending() {
+        return addedCount + removedCount > 0;
+    }
+
+    /**
+     * Folds the pending patches into the sorted array. Entries before the first pending key are not moved.
+     */
+    void merge() {
+        if (removedCount > 0) {
+            Arrays.sort(removed, 0, removedCount);
+            int kept = insertionPoint(removed[0]);
+            int next = 0;
+            for (int position = kept; position < size; position++) {
+                while (next < removedCount && removed[next] < keys[position]) {
+                    next++;
+                }
+                if (next < removedCount && removed[next] == keys[position]) {
+                    next++;
+                } else {
+                    keys[kept++] = keys[position];
+                }
+            }
+            size = kept;
+            removedCount = 0;
+        }
+        if (addedCount > 0) {
+            Arrays.sort(added, 0, addedCount);
+            int merged = size + addedCount;
+            if (merged > keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(16, merged + (merged >> 1)));
+            }
+            int position = size - 1;
+            int next = addedCount - 1;
+            for (int into = merged - 1; next >= 0; into--) {
+                keys[into] = position >= 0 && keys[position] > added[next] ? keys[position--] : added[next--];
+            }
+            size = merged;
+            addedCount = 0;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean hasValue(int ordinal) {
+        return hasValue.test(ordinal);
+    }
+
+    /**
+     * @return the position of the first entry with a value of at least {@code min}
+     */
+    int from(int min) {
+        return insertionPoint((long) min << 32);
+    }
+
+    /**
+     * @return the position just past the last entry with a value of at most {@code max}
+     */
+    int to(int max) {
+        return insertionPoint(((long) max << 32) | ORDINAL_MASK);
+    }
+
+    /**
+     * @return ordinals of the {@code limit} entries with the highest values, highest first and roster order for ties
+     */
+    int[] top(int limit) {
+        int[] ordinals = new int[Math.max(0, Math.min(limit, size))];
+        int[] length = {0};
+        forEach(0, size, true, ordinal -> {
+            ordinals[length[0]++] = ordinal;
+            return length[0] < ordinals.length;
+        });
+        return ordinals;
+    }
+
+    int value(int position) {
+        return (int) (keys[position] >> 32);
+    }
+
+    int ordinal(int position) {
+        return (int) (keys[position] & ORDINAL_MASK);
+    }
+
+    /**
+     * Calls {@code visitor} with the ordinals of the entries in {@code [from, to)}, by ascending or descending value
+     * and in roster order for ties either way, until it returns false.
+     */
+    void forEach(int from, int to, boolean descending, IntPredicate visitor) {
+        if (!descending) {
+            for (int position = from; position < to; position++) {
+                if (!visitor.test(ordinal(position))) {
+                    return;
+                }
+            }
+            return;
+        }
+        for (int end = to; end > from; ) {
+            int start = end - 1;
+            while (start > from && value(start - 1) == value(end - 1)) {
+                start--;
+            }
+            for (int position = start; position < end; position++) {
+                if (!visitor.test(ordinal(position))) {
+                    return;
+                }
+            }
+            end = start;
+        }
+    }
+
+    private void mergeIfFull() {
+        if (addedCount + removedCount >= MAX_PENDING) {
+            merge();
+        }
+    }
+
+    private long key(int ordinal) {
+        return ((long) value.applyAsInt(ordinal) << 32) | ordinal;
+    }
+
+    private int search(long key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    /*
+     * Keys are unique and the probes built by from and to never match one exactly, except for an entry of ordinal 0.
+     */
+    private int insertionPoint(long probe) {
+        int position = search(probe);
+        return position >= 0 ? position : -position - 1;
+    }
+}
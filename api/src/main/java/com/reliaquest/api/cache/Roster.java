@@ -0,0 +1,22 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+
+/**
+ * Outcome of a roster fetch for {@link EmployeeSnapshotCache}: either the full roster, or word that the roster behind
+ * the entity tag sent along is still current.
+ *
+ * @param employees the roster, or {@code null} if it has not changed
+ * @param etag entity tag of the roster, or {@code null} if the upstream did not supply one
+ */
+public record Roster(List<Employee> employees, String etag) {
+
+    public static Roster notModified(String etag) {
+        return new Roster(null, etag);
+    }
+
+    public boolean isNotModified() {
+        return employees == null;
+    }
+}
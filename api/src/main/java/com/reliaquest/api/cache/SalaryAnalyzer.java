@@ -0,0 +1,257 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.SalaryAnalytics;
+import com.reliaquest.api.model.SalaryStatistics;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes {@link SalaryAnalytics} over the rows of an {@link EmployeeSnapshot} in a single pass.
+ *
+ * <p>A pass folds a range of rows into one {@link Accumulator} per title and per age band. Below
+ * {@value #PARALLEL_THRESHOLD} rows the whole roster is folded on the calling thread; above it the range is split
+ * recursively on the common fork-join pool and the partial groups are merged as the tasks join. Percentiles are exact:
+ * accumulators keep the salaries they saw, which are sorted once per group after the merge. Must run under the
+ * snapshot's read lock, which keeps the rows still while the forked tasks read them.
+ *
+ * <p>A roster that is not held in a snapshot is folded as it is read instead, through an {@link Incremental}.
+ */
+public final class SalaryAnalyzer {
+
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    static final String UNKNOWN = "unknown";
+
+    private static final int LEAF_SIZE = 1 << 13;
+    private static final int BAND_WIDTH = 10;
+    private static final int BANDS = 16;
+
+    private final EmployeeColumns rows;
+    private final int titleCount;
+
+    private SalaryAnalyzer(EmployeeColumns rows) {
+        this.rows = rows;
+        this.titleCount = rows.titleCount();
+    }
+
+    static SalaryAnalytics analyze(EmployeeColumns rows) {
+        SalaryAnalyzer analyzer = new SalaryAnalyzer(rows);
+        Groups groups;
+        if (rows.size() < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            groups = analyzer.fold(0, rows.size());
+        } else {
+            groups = ForkJoinPool.commonPool().invoke(analyzer.new Fold(0, rows.size()));
+        }
+        return analyzer.analytics(groups);
+    }
+
+    private Groups fold(int from, int to) {
+        Groups groups = new Groups();
+        for (int ordinal = from; ordinal < to; ordinal++) {
+            if (!rows.isLive(ordinal) || !rows.hasSalary(ordinal)) {
+                continue;
+            }
+            int salary = rows.salary(ordinal);
+            int title = rows.titleCode(ordinal);
+            groups.byTitle(title < 0 ? titleCount : title).add(salary);
+            groups.byBand(rows.hasAge(ordinal) ? band(rows.age(ordinal)) : BANDS).add(salary);
+        }
+        return groups;
+    }
+
+    private SalaryAnalytics analytics(Groups groups) {
+        Map<String, SalaryStatistics> byTitle = new TreeMap<>();
+        for (int title = 0; title < titleCount; title++) {
+            if (groups.byTitle[title] != null) {
+                byTitle.put(rows.titleOf(title), groups.byTitle[title].statistics());
+            }
+        }
+        if (groups.byTitle[titleCount] != null) {
+            byTitle.put(UNKNOWN, groups.byTitle[titleCount].statistics());
+        }
+        return new SalaryAnalytics(rows.liveCount(), byTitle, byAgeBand(groups.byBand));
+    }
+
+    private static Map<String, SalaryStatistics> byAgeBand(Accumulator[] bands) {
+        Map<String, SalaryStatistics> byAgeBand = new LinkedHashMap<>();
+        for (int band = 0; band <= BANDS; band++) {
+            if (bands[band] != null) {
+                byAgeBand.put(bandLabel(band), bands[band].statistics());
+            }
+        }
+        return byAgeBand;
+    }
+
+    /*
+     * Ages are grouped in bands of ten years, the last band open-ended; negative ages count as unknown.
+     */
+    private static int band(int age) {
+        return age < 0 ? BANDS : Math.min(age / BAND_WIDTH, BANDS - 1);
+    }
+
+    private static String bandLabel(int band) {
+        if (band == BANDS) {
+            return UNKNOWN;
+        }
+        int from = band * BAND_WIDTH;
+        return band == BANDS - 1 ? from + "+" : from + "-" + (from + BAND_WIDTH - 1);
+    }
+
+    /**
+     * Folds employees one at a time, without holding the roster; the result matches that of a snapshot of the same
+     * employees. Not thread-safe.
+     */
+    public static final class Incremental {
+
+        private final Map<String, Accumulator> byTitle = new HashMap<>();
+        private final Accumulator[] byBand = new Accumulator[BANDS + 1];
+        private Accumulator noTitle;
+        private int employees;
+
+        /**
+         * Counts an employee without a salary, who is part of the total but of no group.
+         */
+        public void addUnpaid() {
+            employees++;
+        }
+
+        public void add(int salary, Integer age, String title) {
+            employees++;
+            if (title != null) {
+                byTitle.computeIfAbsent(title, ignored -> new Accumulator()).add(salary);
+            } else {
+                if (noTitle == null) {
+                    noTitle = new Accumulator();
+                }
+                noTitle.add(salary);
+            }
+            int band = age != null ? band(age) : BANDS;
+            if (byBand[band] == null) {
+                byBand[band] = new Accumulator();
+            }
+            byBand[band].add(salary);
+        }
+
+        public SalaryAnalytics analytics() {
+            Map<String, SalaryStatistics> titles = new TreeMap<>();
+            byTitle.forEach((title, group) -> titles.put(title, group.statistics()));
+            if (noTitle != null) {
+                titles.put(UNKNOWN, noTitle.statistics());
+            }
+            return new SalaryAnalytics(employees, titles, byAgeBand(byBand));
+        }
+    }
+
+    private class Fold extends RecursiveTask<Groups> {
+
+        private final int from;
+        private final int to;
+
+        Fold(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Groups compute() {
+            if (to - from <= LEAF_SIZE) {
+                return fold(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            Fold left = new Fold(from, middle);
+            left.fork();
+            Groups right = new Fold(middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Accumulators per title code, plus one for no title, and per age band, plus one for no age; created on first use.
+     */
+    private class Groups {
+
+        private final Accumulator[] byTitle = new Accumulator[titleCount + 1];
+        private final Accumulator[] byBand = new Accumulator[BANDS + 1];
+
+        Accumulator byTitle(int index) {
+            if (byTitle[index] == null) {
+                byTitle[index] = new Accumulator();
+            }
+            return byTitle[index];
+        }
+
+        Accumulator byBand(int index) {
+            if (byBand[index] == null) {
+                byBand[index] = new Accumulator();
+            }
+            return byBand[index];
+        }
+
+        Groups merge(Groups other) {
+            merge(byTitle, other.byTitle);
+            merge(byBand, other.byBand);
+            return this;
+        }
+
+        private static void merge(Accumulator[] into, Accumulator[] from) {
+            for (int i = 0; i < into.length; i++) {
+                if (into[i] == null) {
+                    into[i] = from[i];
+                } else if (from[i] != null) {
+                    into[i].merge(from[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Mergeable count, min, max and sum of a group's salaries, along with the salaries themselves for the percentiles.
+     */
+    private static class Accumulator {
+
+        private int[] salaries = new int[8];
+        private int count;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+        private long sum;
+
+        void add(int salary) {
+            if (count == salaries.length) {
+                salaries = Arrays.copyOf(salaries, count * 2);
+            }
+            salaries[count++] = salary;
+            min = Math.min(min, salary);
+            max = Math.max(max, salary);
+            sum += salary;
+        }
+
+        void merge(Accumulator other) {
+            if (count + other.count > salaries.length) {
+                salaries = Arrays.copyOf(salaries, Math.max(count + other.count, salaries.length * 2));
+            }
+            System.arraycopy(other.salaries, 0, salaries, count, other.count);
+            count += other.count;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            sum += other.sum;
+        }
+
+        SalaryStatistics statistics() {
+            Arrays.sort(salaries, 0, count);
+            return new SalaryStatistics(
+                    count, min, max, (double) sum / count, percentile(50), percentile(90), percentile(99));
+        }
+
+        /*
+         * Nearest rank; only valid once the salaries are sorted.
+         */
+        private int percentile(int percentile) {
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return salaries[Math.max(0, rank - 1)];
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.api.cache;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bitmap index from title to the ordinals of an {@link EmployeeSnapshot}, one {@link BitSet} per title code.
+ *
+ * <p>Only live rows are set, so the cardinality of a bitmap is the number of employees holding the title. Not
+ * thread-safe; the owning snapshot guards it with its read/write lock.
+ */
+class TitleIndex {
+
+    private final EmployeeColumns rows;
+    private final List<BitSet> bitmaps = new ArrayList<>();
+
+    TitleIndex(EmployeeColumns rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Bulk load for a freshly built snapshot; removed rows and rows without a title are skipped.
+     */
+    void addAll() {
+        for (int ordinal = 0; ordinal < rows.size(); ordinal++) {
+            if (rows.isLive(ordinal)) {
+                add(ordinal);
+            }
+        }
+    }
+
+    void add(int ordinal) {
+        int code = rows.titleCode(ordinal);
+        if (code < 0) {
+            return;
+        }
+        while (bitmaps.size() <= code) {
+            bitmaps.add(new BitSet());
+        }
+        bitmaps.get(code).set(ordinal);
+    }
+
+    void remove(int ordinal) {
+        int code = rows.titleCode(ordinal);
+        if (code >= 0 && code < bitmaps.size()) {
+            bitmaps.get(code).clear(ordinal);
+        }
+    }
+
+    /**
+     * @return a new bitmap of the live rows holding any of {@code titles}
+     */
+    BitSet matching(Collection<String> titles) {
+        BitSet matching = new BitSet();
+        for (String title : titles) {
+            int code = rows.titleCodeOf(title);
+            if (code >= 0 && code < bitmaps.size()) {
+                matching.or(bitmaps.get(code));
+            }
+        }
+        return matching;
+    }
+}
@@ -0,0 +1,162 @@
+package com.reliaquest.api.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Case-folded trigram inverted index over employee names, addressed by {@link EmployeeSnapshot} ordinal.
+ *
+ * <p>A substring query of three or more characters is answered by intersecting the posting lists of its trigrams and
+ * verifying the surviving candidates against the stored name, so the work is bounded by the rarest trigram rather than
+ * the roster size. Shorter queries fall back to a scan over the names. Names are not copied; both paths read them from
+ * the snapshot's {@link EmployeeColumns}. Postings are appended in ordinal order and therefore stay sorted; removed
+ * ordinals are left in place and filtered out during verification. Not thread-safe; the owning snapshot guards it with
+ * its read/write lock.
+ */
+class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private final EmployeeColumns rows;
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    TrigramIndex(EmployeeColumns rows) {
+        this.rows = rows;
+    }
+
+    void addAll() {
+        for (int ordinal = 0; ordinal < rows.size(); ordinal++) {
+            add(ordinal);
+        }
+    }
+
+    void add(int ordinal) {
+        String name = rows.name(ordinal);
+        if (name == null) {
+            return;
+        }
+        for (long gram : grams(fold(name))) {
+            postings.computeIfAbsent(gram, ignored -> new Postings()).add(ordinal);
+        }
+    }
+
+    /**
+     * @return ordinals, in ascending order, of the names containing {@code query} ignoring case
+     */
+    int[] search(String query) {
+        String folded = fold(query);
+        if (folded.length() < GRAM) {
+            return scan(folded);
+        }
+
+        List<Postings> lists = new ArrayList<>();
+        for (long gram : grams(folded)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+
+        int[] candidates = lists.get(0).toArray();
+        int length = candidates.length;
+        for (int i = 1; i < lists.size() && length > 0; i++) {
+            length = lists.get(i).retainAll(candidates, length);
+        }
+
+        int matches = 0;
+        for (int i = 0; i < length; i++) {
+            if (isMatch(candidates[i], folded)) {
+                candidates[matches++] = candidates[i];
+            }
+        }
+        return Arrays.copyOf(candidates, matches);
+    }
+
+    private int[] scan(String folded) {
+        Postings matches = new Postings();
+        for (int ordinal = 0; ordinal < rows.size(); ordinal++) {
+            if (isMatch(ordinal, folded)) {
+                matches.add(ordinal);
+            }
+        }
+        return matches.toArray();
+    }
+
+    private boolean isMatch(int ordinal, String folded) {
+        return rows.isLive(ordinal) && rows.nameContains(ordinal, folded);
+    }
+
+    static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<Long> grams(String folded) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            grams.add(((long) folded.charAt(i) << 32) | ((long) folded.charAt(i + 1) << 16) | folded.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * Growable, ascending list of ordinals.
+     */
+    private static class Postings {
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ordinals, size);
+        }
+
+        /**
+         * Keeps in {@code candidates[0, length)} only the ordinals also present in this list, using a galloping search
+         * so a short candidate list costs O(c log n) against a long posting list.
+         *
+         * @return the new candidate length
+         */
+        int retainAll(int[] candidates, int length) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < length && from < size; i++) {
+                int target = candidates[i];
+                int bound = 1;
+                while (from + bound < size && ordinals[from + bound] < target) {
+                    bound <<= 1;
+                }
+                int found = Arrays.binarySearch(ordinals, from, Math.min(from + bound + 1, size), target);
+                if (found >= 0) {
+                    candidates[kept++] = target;
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            return kept;
+        }
+    }
+}
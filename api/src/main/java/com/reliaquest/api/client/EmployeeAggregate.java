@@ -0,0 +1,20 @@
+package com.reliaquest.api.client;
+
+import java.util.Set;
+
+/**
+ * Fold over the upstream roster that runs while the response is being read, see {@link EmployeeStreamReader}.
+ *
+ * @param <R> result type
+ */
+public interface EmployeeAggregate<R> {
+
+    /**
+     * @return JSON field names the aggregate reads; the values of all other fields are skipped without being decoded
+     */
+    Set<String> fields();
+
+    void accept(EmployeeRow row);
+
+    R result();
+}
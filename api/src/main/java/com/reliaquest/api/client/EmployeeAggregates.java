@@ -0,0 +1,254 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.cache.SalaryAnalyzer;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.EmployeeQuery.SortKey;
+import com.reliaquest.api.model.SalaryAnalytics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Streaming counterparts of the roster queries the api answers from its snapshot; results match the snapshot's,
+ * including the roster order for salary ties.
+ */
+public final class EmployeeAggregates {
+
+    static final String ID = "id";
+    static final String NAME = "employee_name";
+    static final String SALARY = "employee_salary";
+    static final String AGE = "employee_age";
+    static final String TITLE = "employee_title";
+    static final String EMAIL = "employee_email";
+
+    private static final Set<String> ALL_FIELDS = Set.of(ID, NAME, SALARY, AGE, TITLE, EMAIL);
+
+    private EmployeeAggregates() {}
+
+    /**
+     * @return every employee, in roster order
+     */
+    public static EmployeeAggregate<List<Employee>> employees() {
+        return new EmployeeAggregate<>() {
+
+            private final List<Employee> employees = new ArrayList<>();
+
+            @Override
+            public Set<String> fields() {
+                return ALL_FIELDS;
+            }
+
+            @Override
+            public void accept(EmployeeRow row) {
+                employees.add(row.toEmployee());
+            }
+
+            @Override
+            public List<Employee> result() {
+                return employees;
+            }
+        };
+    }
+
+    /**
+     * @return the highest salary, or 0 for an empty roster
+     */
+    public static EmployeeAggregate<Integer> highestSalary() {
+        return new EmployeeAggregate<>() {
+
+            private int highest;
+
+            @Override
+            public Set<String> fields() {
+                return Set.of(SALARY);
+            }
+
+            @Override
+            public void accept(EmployeeRow row) {
+                if (row.hasSalary() && row.salary() > highest) {
+                    highest = row.salary();
+                }
+            }
+
+            @Override
+            public Integer result() {
+                return highest;
+            }
+        };
+    }
+
+    /**
+     * @return names of the {@code limit} best paid employees, highest salary first
+     */
+    public static EmployeeAggregate<List<String>> topEarnerNames(int limit) {
+        return new TopEarnerNames(limit);
+    }
+
+    /**
+     * @return salary statistics per title and per age band
+     */
+    public static EmployeeAggregate<SalaryAnalytics> salaryAnalytics() {
+        return new EmployeeAggregate<>() {
+
+            private final SalaryAnalyzer.Incremental analyzer = new SalaryAnalyzer.Incremental();
+
+            @Override
+            public Set<String> fields() {
+                return Set.of(SALARY, AGE, TITLE);
+            }
+
+            @Override
+            public void accept(EmployeeRow row) {
+                if (row.hasSalary()) {
+                    analyzer.add(row.salary(), row.age(), row.title());
+                } else {
+                    analyzer.addUnpaid();
+                }
+            }
+
+            @Override
+            public SalaryAnalytics result() {
+                return analyzer.analytics();
+            }
+        };
+    }
+
+    /**
+     * @return employees whose name contains {@code query} ignoring case, in roster order
+     */
+    public static EmployeeAggregate<List<Employee>> nameContains(String query) {
+        String folded = query.toLowerCase(Locale.ROOT);
+        return new EmployeeAggregate<>() {
+
+            private final List<Employee> matches = new ArrayList<>();
+
+            @Override
+            public Set<String> fields() {
+                return ALL_FIELDS;
+            }
+
+            @Override
+            public void accept(EmployeeRow row) {
+                if (row.name() != null && row.name().toLowerCase(Locale.ROOT).contains(folded)) {
+                    matches.add(row.toEmployee());
+                }
+            }
+
+            @Override
+            public List<Employee> result() {
+                return matches;
+            }
+        };
+    }
+
+    /**
+     * @return the page of employees matching every filter of {@code query}, in the order it asks for
+     */
+    public static EmployeeAggregate<List<Employee>> query(EmployeeQuery query) {
+        SortKey sortKey = query.sortKey();
+        return new EmployeeAggregate<>() {
+
+            private final List<Employee> matches = new ArrayList<>();
+
+            @Override
+            public Set<String> fields() {
+                return ALL_FIELDS;
+            }
+
+            @Override
+            public void accept(EmployeeRow row) {
+                if (sortKey == null && matches.size() >= query.end()) {
+                    return;
+                }
+                if (query.salaryMatches(row.hasSalary() ? row.salary() : null)
+                        && query.ageMatches(row.age())
+                        && query.titleMatches(row.title())) {
+                    matches.add(row.toEmployee());
+                }
+            }
+
+            @Override
+            public List<Employee> result() {
+                if (sortKey != null) {
+                    matches.sort(order(sortKey, query.descending()));
+                }
+                int from = Math.min(query.getOffset(), matches.size());
+                return new ArrayList<>(matches.subList(from, Math.min(query.end(), matches.size())));
+            }
+        };
+    }
+
+    /*
+     * List.sort is stable, so ties keep the roster order whichever the direction; rows without the field sort last.
+     */
+    private static Comparator<Employee> order(SortKey sortKey, boolean descending) {
+        return switch (sortKey) {
+            case SALARY -> by(Employee::getEmployeeSalary, Comparator.naturalOrder(), descending);
+            case AGE -> by(Employee::getEmployeeAge, Comparator.naturalOrder(), descending);
+            case NAME -> by(Employee::getEmployeeName, String.CASE_INSENSITIVE_ORDER, descending);
+        };
+    }
+
+    private static <T> Comparator<Employee> by(Function<Employee, T> field, Comparator<T> order, boolean descending) {
+        return Comparator.comparing(field, Comparator.nullsLast(descending ? order.reversed() : order));
+    }
+
+    /*
+     * Bounded min-heap on (salary, roster position descending), so the weakest of the current top sits at the head and
+     * a later row with an equal salary never displaces an earlier one.
+     */
+    private static class TopEarnerNames implements EmployeeAggregate<List<String>> {
+
+        private static final Comparator<Entry> WEAKEST_FIRST = Comparator.comparingInt(Entry::salary)
+                .thenComparing(Comparator.comparingLong(Entry::position).reversed());
+
+        private final int limit;
+        private final PriorityQueue<Entry> heap;
+
+        private long position;
+
+        TopEarnerNames(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(Math.max(1, limit + 1), WEAKEST_FIRST);
+        }
+
+        @Override
+        public Set<String> fields() {
+            return Set.of(NAME, SALARY);
+        }
+
+        @Override
+        public void accept(EmployeeRow row) {
+            long rowPosition = position++;
+            if (limit <= 0 || !row.hasSalary()) {
+                return;
+            }
+            if (heap.size() == limit && row.salary() <= heap.peek().salary()) {
+                return;
+            }
+            heap.add(new Entry(row.salary(), rowPosition, row.name()));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        @Override
+        public List<String> result() {
+            Entry[] entries = heap.toArray(new Entry[0]);
+            Arrays.sort(entries, WEAKEST_FIRST.reversed());
+            List<String> names = new ArrayList<>(entries.length);
+            for (Entry entry : entries) {
+                names.add(entry.name());
+            }
+            return names;
+        }
+
+        private record Entry(int salary, long position, String name) {}
+    }
+}
@@ -0,0 +1,198 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Follows the upstream's Server-Sent Events stream of roster changes on a thread of its own and hands every create and
+ * delete to a {@link Listener}, so a cached roster can be kept current without downloading it again.
+ *
+ * <p>A dropped stream is reopened with the id of the last event seen, after a delay that doubles with every failed
+ * attempt up to 32 times {@code reconnectDelay}. The upstream resumes right after that event, or sends a reset when it
+ * no longer can. The stream is a single long-lived request that the upstream does not rate limit, so it takes no
+ * permit from the {@link UpstreamRateLimiter}. The upstream sends a heartbeat while nothing changes, which has to come
+ * more often than the read timeout of the {@link RestTemplate}; give the feed one of its own, configured for that.
+ */
+@Slf4j
+public class EmployeeChangeFeed implements AutoCloseable {
+
+    static final String URL = EmployeeClient.BASE_URL + "/changes";
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private static final int MAX_BACKOFF_SHIFT = 5;
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration reconnectDelay;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile boolean closed;
+    private volatile String lastEventId;
+    private volatile boolean received;
+
+    public EmployeeChangeFeed(RestTemplate restTemplate, ObjectMapper objectMapper, Duration reconnectDelay) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    /**
+     * Starts following the stream, unless it already is; only the first call's {@code listener} is used.
+     */
+    public void start(Listener listener) {
+        if (closed || !started.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(() -> follow(listener), "employee-changes");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private void follow(Listener listener) {
+        int failures = 0;
+        while (!closed) {
+            received = false;
+            try {
+                restTemplate.execute(
+                        URL,
+                        HttpMethod.GET,
+                        request -> {
+                            request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                            if (lastEventId != null) {
+                                request.getHeaders().set(LAST_EVENT_ID, lastEventId);
+                            }
+                        },
+                        response -> {
+                            read(response.getBody(), listener);
+                            return null;
+                        });
+                log.debug("Employee change stream ended after event {}, reconnecting", lastEventId);
+            } catch (RuntimeException e) {
+                if (received || failures == 0) {
+                    log.warn("Employee change stream failed after event {}: {}", lastEventId, e.getMessage());
+                } else {
+                    log.debug("Employee change stream failed again: {}", e.getMessage());
+                }
+            }
+            if (received) {
+                failures = 0;
+                continue;
+            }
+            try {
+                Thread.sleep(reconnectDelay.toMillis() << Math.min(failures++, MAX_BACKOFF_SHIFT));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Dispatches the events of one stream to {@code listener} until it ends or the feed is closed.
+     */
+    void read(InputStream body, Listener listener) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String event = null;
+        String id = null;
+        StringBuilder data = new StringBuilder();
+        for (String line = reader.readLine(); line != null && !closed; line = reader.readLine()) {
+            if (line.isEmpty()) {
+                if (event != null || data.length() > 0) {
+                    dispatch(event, data.toString(), listener);
+                }
+                if (id != null) {
+                    lastEventId = id;
+                }
+                event = null;
+                id = null;
+                data.setLength(0);
+                continue;
+            }
+            if (line.startsWith(":")) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(line.startsWith(" ", colon + 1) ? colon + 2 : colon + 1);
+            switch (field) {
+                case "event" -> event = value;
+                case "id" -> id = value;
+                case "data" -> {
+                    if (data.length() > 0) {
+                        data.append('\n');
+                    }
+                    data.append(value);
+                }
+                default -> {}
+            }
+        }
+    }
+
+    String lastEventId() {
+        return lastEventId;
+    }
+
+    private void dispatch(String event, String data, Listener listener) throws IOException {
+        received = true;
+        if ("change".equals(event)) {
+            Change change = objectMapper.readValue(data, Change.class);
+            if (change.op() == Op.CREATED) {
+                listener.created(change.employee());
+            } else if (change.op() == Op.DELETED) {
+                listener.deleted(change.employee().getId());
+            }
+            listener.caughtUp();
+        } else if ("reset".equals(event)) {
+            log.info("Employee change stream cannot resume after event {}, resynchronizing", lastEventId);
+            listener.resynchronize();
+        } else if ("heartbeat".equals(event)) {
+            listener.caughtUp();
+        }
+    }
+
+    /**
+     * Receives the changes of the stream in order, on the feed's thread.
+     */
+    public interface Listener {
+
+        /**
+         * Changes were missed; whatever was built from earlier ones has to be reloaded.
+         */
+        void resynchronize();
+
+        void created(Employee employee);
+
+        void deleted(String id);
+
+        /**
+         * The stream is live and every change it has carried so far has been handed out, after each change and each
+         * heartbeat.
+         */
+        void caughtUp();
+    }
+
+    enum Op {
+        CREATED,
+        DELETED
+    }
+
+    record Change(long sequence, Op op, Employee employee) {}
+}
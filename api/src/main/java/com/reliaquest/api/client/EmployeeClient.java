@@ -0,0 +1,335 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.client.UpstreamRateLimiter.Priority;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.CreateEmployeeResult;
+import com.reliaquest.api.model.DeleteEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * HTTP client for the mock employee API.
+ *
+ * <p>Every call first takes a permit from the {@link UpstreamRateLimiter} and reports back how the upstream answered.
+ * Reads are not retried on 429, since the api keeps serving its cached snapshot in the meantime; writes are retried
+ * with jittered backoff until they get through or run out of attempts.
+ *
+ * <p>The roster is fetched according to {@link FetchMode}. Paged fetches cost one permit per page.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class EmployeeClient {
+
+    public static final String BASE_URL = "http://localhost:8112/api/v1/employee";
+
+    public enum FetchMode {
+        /** One JSON response holding the whole roster. */
+        FULL,
+        /** Cursor-paginated JSON responses of {@code employee.upstream.page-size} employees each. */
+        PAGED,
+        /** The upstream's newline-delimited JSON stream. */
+        NDJSON
+    }
+
+    private static final long MAX_JITTER_MILLIS = 250;
+
+    private final RestTemplate restTemplate;
+    private final UpstreamRateLimiter rateLimiter;
+    private final EmployeeStreamReader streamReader = new EmployeeStreamReader();
+    private final SingleFlight<String> gets;
+    private final MeterRegistry meterRegistry;
+    private final Counter throttled;
+    private final Counter serverErrors;
+    private final Duration maxWait;
+    private final int writeAttempts;
+    private final FetchMode fetchMode;
+    private final int pageSize;
+
+    public EmployeeClient(
+            RestTemplate restTemplate,
+            UpstreamRateLimiter upstreamRateLimiter,
+            MeterRegistry meterRegistry,
+            @Value("${employee.upstream.max-wait:10s}") Duration maxWait,
+            @Value("${employee.upstream.write-attempts:3}") int writeAttempts,
+            @Value("${employee.upstream.fetch-mode:FULL}") FetchMode fetchMode,
+            @Value("${employee.upstream.page-size:1000}") int pageSize) {
+        this.restTemplate = restTemplate;
+        this.rateLimiter = upstreamRateLimiter;
+        this.gets = new SingleFlight<>("get", meterRegistry);
+        this.meterRegistry = meterRegistry;
+        this.throttled = meterRegistry.counter("employee.upstream.throttled");
+        this.serverErrors = meterRegistry.counter("employee.upstream.server.errors");
+        this.maxWait = maxWait;
+        this.writeAttempts = writeAttempts;
+        this.fetchMode = fetchMode;
+        this.pageSize = pageSize;
+    }
+
+    public List<Employee> getAllEmployees() {
+        if (fetchMode == FetchMode.FULL) {
+            return getData("list", BASE_URL, new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {});
+        }
+        return aggregateEmployees("all", EmployeeAggregates::employees);
+    }
+
+    /**
+     * Conditional roster fetch. In {@link FetchMode#FULL} mode {@code etag}, if any, is sent as {@code If-None-Match}
+     * and a 304 from the upstream is passed on with an empty body; the other modes always fetch the roster.
+     *
+     * @return the roster with the upstream's {@code ETag}, or an empty 304
+     */
+    public ResponseEntity<List<Employee>> getAllEmployeesIfNoneMatch(String etag) {
+        if (fetchMode != FetchMode.FULL) {
+            return ResponseEntity.ok(getAllEmployees());
+        }
+        HttpEntity<Void> request = null;
+        if (etag != null) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setIfNoneMatch(etag);
+            request = new HttpEntity<>(headers);
+        }
+        HttpEntity<Void> conditional = request;
+        return gets.execute(BASE_URL + " if-none-match " + etag, () -> {
+            ResponseEntity<ApiResponse<List<Employee>>> response = exchange(
+                    "list",
+                    Priority.READ,
+                    1,
+                    () -> restTemplate.exchange(
+                            BASE_URL,
+                            HttpMethod.GET,
+                            conditional,
+                            new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {}));
+            if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(response.getHeaders().getETag())
+                        .build();
+            }
+            ApiResponse<List<Employee>> apiResponse = response.getBody();
+            if (apiResponse == null || apiResponse.getData() == null) {
+                log.warn("API response empty or missing data for URL: {}", BASE_URL);
+            }
+            return ResponseEntity.ok()
+                    .eTag(response.getHeaders().getETag())
+                    .body(apiResponse != null ? apiResponse.getData() : null);
+        });
+    }
+
+    /**
+     * Runs {@code aggregate} over the roster while it is being read from the upstream, instead of decoding it into a
+     * list first. Concurrent calls with the same {@code key} share one upstream call and its result.
+     */
+    public <R> R aggregateEmployees(String key, Supplier<EmployeeAggregate<R>> aggregate) {
+        return gets.execute("aggregate:" + key, () -> switch (fetchMode) {
+            case FULL -> exchange(
+                    "aggregate",
+                    Priority.READ,
+                    1,
+                    () -> restTemplate.execute(
+                            BASE_URL,
+                            HttpMethod.GET,
+                            null,
+                            response -> streamReader.read(response.getBody(), aggregate.get())));
+            case PAGED -> readPages(aggregate.get());
+            case NDJSON -> exchange(
+                    "stream",
+                    Priority.READ,
+                    1,
+                    () -> restTemplate.execute(
+                            BASE_URL + "/stream",
+                            HttpMethod.GET,
+                            request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON)),
+                            response -> streamReader.readNdjson(response.getBody(), aggregate.get())));
+        });
+    }
+
+    public Employee getEmployeeById(String id) {
+        return getData("get", BASE_URL + "/" + id, new ParameterizedTypeReference<ApiResponse<Employee>>() {});
+    }
+
+    public ResponseEntity<ApiResponse<Employee>> createEmployee(CreateEmployeeInput input) {
+        HttpEntity<CreateEmployeeInput> request = new HttpEntity<>(input);
+        return exchange(
+                "create",
+                Priority.WRITE,
+                writeAttempts,
+                () -> restTemplate.exchange(
+                        BASE_URL,
+                        HttpMethod.POST,
+                        request,
+                        new ParameterizedTypeReference<ApiResponse<Employee>>() {}));
+    }
+
+    /**
+     * Creates all of {@code inputs} with a single upstream request, which costs one permit however many it carries.
+     */
+    public ResponseEntity<ApiResponse<List<CreateEmployeeResult>>> createEmployees(List<CreateEmployeeInput> inputs) {
+        HttpEntity<List<CreateEmployeeInput>> request = new HttpEntity<>(inputs);
+        return exchange(
+                "create-batch",
+                Priority.WRITE,
+                writeAttempts,
+                () -> restTemplate.exchange(
+                        BASE_URL + "/batch",
+                        HttpMethod.POST,
+                        request,
+                        new ParameterizedTypeReference<ApiResponse<List<CreateEmployeeResult>>>() {}));
+    }
+
+    public ResponseEntity<ApiResponse<Boolean>> deleteEmployee(String name) {
+        DeleteEmployeeInput input = new DeleteEmployeeInput();
+        input.setName(name);
+        HttpEntity<DeleteEmployeeInput> request = new HttpEntity<>(input);
+        return exchange(
+                "delete",
+                Priority.WRITE,
+                writeAttempts,
+                () -> restTemplate.exchange(
+                        BASE_URL,
+                        HttpMethod.DELETE,
+                        request,
+                        new ParameterizedTypeReference<ApiResponse<Boolean>>() {}));
+    }
+
+    public UpstreamRateLimiter.Budget budget() {
+        return rateLimiter.budget();
+    }
+
+    /*
+     * Concurrent GETs for the same URL share one upstream call and its decoded result.
+     */
+    private <T> T getData(String operation, String url, ParameterizedTypeReference<ApiResponse<T>> responseType) {
+        return gets.execute(url, () -> {
+            ResponseEntity<ApiResponse<T>> response = exchange(
+                    operation,
+                    Priority.READ,
+                    1,
+                    () -> restTemplate.exchange(url, HttpMethod.GET, null, responseType));
+            ApiResponse<T> apiResponse = response.getBody();
+            if (apiResponse != null && apiResponse.getData() != null) {
+                return apiResponse.getData();
+            }
+            log.warn("API response empty or missing data for URL: {}", url);
+            return null;
+        });
+    }
+
+    /*
+     * A page after the first is retried like a write, since giving up on it throws away the pages already read.
+     */
+    private <R> R readPages(EmployeeAggregate<R> aggregate) {
+        Long cursor = null;
+        do {
+            String url = UriComponentsBuilder.fromHttpUrl(BASE_URL)
+                    .queryParam("limit", pageSize)
+                    .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                    .toUriString();
+            cursor = exchange(
+                    "page",
+                    Priority.READ,
+                    cursor == null ? 1 : writeAttempts,
+                    () -> restTemplate.execute(
+                            url, HttpMethod.GET, null, response -> streamReader.readPage(response.getBody(), aggregate)));
+        } while (cursor != null);
+        return aggregate.result();
+    }
+
+    /*
+     * Each attempt is timed separately under employee.upstream.requests, tagged with the operation and its outcome;
+     * time spent waiting for a permit is not included.
+     */
+    private <T> T exchange(String operation, Priority priority, int attempts, Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            if (!rateLimiter.acquire(priority, maxWait)) {
+                throw new UpstreamThrottledException("No upstream request budget available within " + maxWait);
+            }
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                T response = call.get();
+                stop(sample, operation, "SUCCESS");
+                rateLimiter.onAccepted();
+                return response;
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                stop(sample, operation, "THROTTLED");
+                throttled.increment();
+                rateLimiter.onThrottled(retryAfter(e));
+                if (attempt >= attempts) {
+                    throw new UpstreamThrottledException("Upstream rejected request " + attempt + " time(s) with 429");
+                }
+                log.debug("Upstream throttled {} request, retrying (attempt {} of {})", priority, attempt, attempts);
+                backoff(attempt);
+            } catch (HttpStatusCodeException e) {
+                if (e.getStatusCode().is5xxServerError()) {
+                    stop(sample, operation, "SERVER_ERROR");
+                    serverErrors.increment();
+                } else {
+                    stop(sample, operation, "CLIENT_ERROR");
+                }
+                rateLimiter.onAccepted();
+                throw e;
+            } catch (RuntimeException e) {
+                stop(sample, operation, "ERROR");
+                throw e;
+            }
+        }
+    }
+
+    private void stop(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder("employee.upstream.requests")
+                .description("Upstream call latency per attempt")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private static Duration retryAfter(HttpStatusCodeException e) {
+        HttpHeaders headers = e.getResponseHeaders();
+        String retryAfter = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (retryAfter == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException ignored) {
+            return null;
+        }
+    }
+
+    /*
+     * The limiter already holds writers until the learned cool-down is over; the jitter only spreads out writers that
+     * were throttled together so they do not all probe the upstream at the same instant.
+     */
+    private static void backoff(int attempt) {
+        long bound = Math.min(MAX_JITTER_MILLIS, 25L << Math.min(attempt, 4));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamThrottledException("Interrupted while waiting to retry upstream request");
+        }
+    }
+}
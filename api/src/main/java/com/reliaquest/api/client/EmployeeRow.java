@@ -0,0 +1,99 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.Employee;
+
+/**
+ * One element of the upstream {@code data} array as seen by an {@link EmployeeAggregate}.
+ *
+ * <p>The reader reuses a single instance for the whole array and only fills in the fields the aggregate asked for, so
+ * an aggregate must copy out whatever it keeps.
+ */
+public final class EmployeeRow {
+
+    private String id;
+    private String name;
+    private int salary;
+    private boolean hasSalary;
+    private Integer age;
+    private String title;
+    private String email;
+
+    public String id() {
+        return id;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean hasSalary() {
+        return hasSalary;
+    }
+
+    public int salary() {
+        return salary;
+    }
+
+    public Integer age() {
+        return age;
+    }
+
+    public String title() {
+        return title;
+    }
+
+    public Employee toEmployee() {
+        return new Employee(id, name, hasSalary ? salary : null, age, title, email);
+    }
+
+    /**
+     * Fills the row from an already decoded employee.
+     */
+    EmployeeRow fill(Employee employee) {
+        clear();
+        id = employee.getId();
+        name = employee.getEmployeeName();
+        if (employee.getEmployeeSalary() != null) {
+            salary(employee.getEmployeeSalary());
+        }
+        age = employee.getEmployeeAge();
+        title = employee.getEmployeeTitle();
+        email = employee.getEmployeeEmail();
+        return this;
+    }
+
+    void clear() {
+        id = null;
+        name = null;
+        salary = 0;
+        hasSalary = false;
+        age = null;
+        title = null;
+        email = null;
+    }
+
+    void id(String id) {
+        this.id = id;
+    }
+
+    void name(String name) {
+        this.name = name;
+    }
+
+    void salary(int salary) {
+        this.salary = salary;
+        this.hasSalary = true;
+    }
+
+    void age(int age) {
+        this.age = age;
+    }
+
+    void title(String title) {
+        this.title = title;
+    }
+
+    void email(String email) {
+        this.email = email;
+    }
+}
@@ -0,0 +1,119 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Walks the {@code data} array of an upstream {@code ApiResponse<List<Employee>>}, or the lines of its NDJSON stream,
+ * token by token and feeds each employee to an {@link EmployeeAggregate}, without building the list or any
+ * {@code Employee} the aggregate does not keep.
+ *
+ * <p>Values of fields the aggregate does not ask for are skipped undecoded, and top-level members of the response other
+ * than {@code data} and {@code next_cursor} are ignored.
+ */
+public class EmployeeStreamReader {
+
+    private final JsonFactory jsonFactory;
+
+    public EmployeeStreamReader() {
+        this(new JsonFactory());
+    }
+
+    public EmployeeStreamReader(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public <R> R read(InputStream body, EmployeeAggregate<R> aggregate) throws IOException {
+        readPage(body, aggregate);
+        return aggregate.result();
+    }
+
+    /**
+     * Feeds one page of a paginated listing to {@code aggregate} without finishing it.
+     *
+     * @return the {@code next_cursor} member of the response, or {@code null} on the last page
+     */
+    public Long readPage(InputStream body, EmployeeAggregate<?> aggregate) throws IOException {
+        Long nextCursor = null;
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected employee response object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    readRows(parser, aggregate);
+                } else if ("next_cursor".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    nextCursor = parser.getLongValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return nextCursor;
+    }
+
+    /**
+     * Reads newline-delimited JSON, one employee object per line, as produced by the upstream's streaming endpoint.
+     */
+    public <R> R readNdjson(InputStream body, EmployeeAggregate<R> aggregate) throws IOException {
+        Set<String> fields = aggregate.fields();
+        EmployeeRow row = new EmployeeRow();
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.START_OBJECT) {
+                    readRow(parser, fields, row);
+                    aggregate.accept(row);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return aggregate.result();
+    }
+
+    private static void readRows(JsonParser parser, EmployeeAggregate<?> aggregate) throws IOException {
+        Set<String> fields = aggregate.fields();
+        EmployeeRow row = new EmployeeRow();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new JsonParseException(parser, "Unexpected end of employee array");
+            }
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            readRow(parser, fields, row);
+            aggregate.accept(row);
+        }
+    }
+
+    private static void readRow(JsonParser parser, Set<String> fields, EmployeeRow row) throws IOException {
+        row.clear();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL || !fields.contains(field)) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case EmployeeAggregates.ID -> row.id(parser.getValueAsString());
+                case EmployeeAggregates.NAME -> row.name(parser.getValueAsString());
+                case EmployeeAggregates.SALARY -> row.salary(parser.getValueAsInt());
+                case EmployeeAggregates.AGE -> row.age(parser.getValueAsInt());
+                case EmployeeAggregates.TITLE -> row.title(parser.getValueAsString());
+                case EmployeeAggregates.EMAIL -> row.email(parser.getValueAsString());
+                default -> parser.skipChildren();
+            }
+        }
+    }
+}
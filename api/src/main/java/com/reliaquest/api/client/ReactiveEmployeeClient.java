@@ -0,0 +1,246 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.client.UpstreamRateLimiter.Priority;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.CreateEmployeeResult;
+import com.reliaquest.api.model.DeleteEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeClient}, used when the api runs on WebFlux.
+ *
+ * <p>The roster is always read from the upstream's newline-delimited JSON stream, decoded one employee at a time as the
+ * subscriber requests them, so a slow consumer slows the read instead of buffering the whole roster. Calls share the
+ * {@link UpstreamRateLimiter} and the blocking client's retry policy, but never block on the limiter: a missing permit
+ * is polled for on a timer until {@code employee.upstream.max-wait} runs out. Polling callers are not queued, so the
+ * limiter's preference for waiting writers does not apply to them.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeClient {
+
+    private static final Duration PERMIT_POLL = Duration.ofMillis(50);
+    private static final Duration MIN_BACKOFF = Duration.ofMillis(25);
+    private static final Duration MAX_BACKOFF = Duration.ofMillis(250);
+
+    private final WebClient webClient;
+    private final UpstreamRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final Counter throttled;
+    private final Counter serverErrors;
+    private final Duration maxWait;
+    private final int writeAttempts;
+
+    public ReactiveEmployeeClient(
+            WebClient upstreamWebClient,
+            UpstreamRateLimiter upstreamRateLimiter,
+            MeterRegistry meterRegistry,
+            @Value("${employee.upstream.max-wait:10s}") Duration maxWait,
+            @Value("${employee.upstream.write-attempts:3}") int writeAttempts) {
+        this.webClient = upstreamWebClient;
+        this.rateLimiter = upstreamRateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.throttled = meterRegistry.counter("employee.upstream.throttled");
+        this.serverErrors = meterRegistry.counter("employee.upstream.server.errors");
+        this.maxWait = maxWait;
+        this.writeAttempts = writeAttempts;
+    }
+
+    /**
+     * @return the roster in roster order; the upstream request is made on subscription and costs one permit
+     */
+    public Flux<Employee> getAllEmployees() {
+        return permit(Priority.READ).thenMany(Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return employeeStream()
+                    .doOnComplete(() -> succeeded(sample, "stream"))
+                    .doOnError(e -> failed(sample, "stream", e));
+        }));
+    }
+
+    /**
+     * Folds {@code aggregate} over the roster stream as it is decoded, like {@link EmployeeClient#aggregateEmployees}.
+     */
+    public <R> Mono<R> aggregateEmployees(Supplier<EmployeeAggregate<R>> aggregate) {
+        return exchange(
+                "aggregate",
+                Priority.READ,
+                1,
+                () -> Mono.defer(() -> {
+                    EmployeeRow row = new EmployeeRow();
+                    return employeeStream()
+                            .reduce(aggregate.get(), (folded, employee) -> {
+                                folded.accept(row.fill(employee));
+                                return folded;
+                            })
+                            .map(EmployeeAggregate::result);
+                }));
+    }
+
+    /**
+     * @return the employee, or empty if the upstream does not know {@code id}
+     */
+    public Mono<Employee> getEmployeeById(String id) {
+        return exchange(
+                        "get",
+                        Priority.READ,
+                        1,
+                        () -> webClient
+                                .get()
+                                .uri(EmployeeClient.BASE_URL + "/{id}", id)
+                                .retrieve()
+                                .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {}))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                .mapNotNull(ApiResponse::getData);
+    }
+
+    public Mono<ApiResponse<Employee>> createEmployee(CreateEmployeeInput input) {
+        return exchange(
+                "create",
+                Priority.WRITE,
+                writeAttempts,
+                () -> webClient
+                        .post()
+                        .uri(EmployeeClient.BASE_URL)
+                        .bodyValue(input)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {}));
+    }
+
+    public Mono<ApiResponse<List<CreateEmployeeResult>>> createEmployees(List<CreateEmployeeInput> inputs) {
+        return exchange(
+                "create-batch",
+                Priority.WRITE,
+                writeAttempts,
+                () -> webClient
+                        .post()
+                        .uri(EmployeeClient.BASE_URL + "/batch")
+                        .bodyValue(inputs)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<CreateEmployeeResult>>>() {}));
+    }
+
+    public Mono<ApiResponse<Boolean>> deleteEmployee(String name) {
+        DeleteEmployeeInput input = new DeleteEmployeeInput();
+        input.setName(name);
+        return exchange(
+                "delete",
+                Priority.WRITE,
+                writeAttempts,
+                () -> webClient
+                        .method(HttpMethod.DELETE)
+                        .uri(EmployeeClient.BASE_URL)
+                        .bodyValue(input)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<Boolean>>() {}));
+    }
+
+    private Flux<Employee> employeeStream() {
+        return webClient
+                .get()
+                .uri(EmployeeClient.BASE_URL + "/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(Employee.class);
+    }
+
+    /*
+     * Each attempt takes its own permit and is timed separately under employee.upstream.requests, as in the blocking
+     * client; only 429s are retried.
+     */
+    private <T> Mono<T> exchange(String operation, Priority priority, int attempts, Supplier<Mono<T>> call) {
+        return permit(priority)
+                .then(Mono.defer(() -> {
+                    Timer.Sample sample = Timer.start(meterRegistry);
+                    return call.get()
+                            .doOnSuccess(ignored -> succeeded(sample, operation))
+                            .doOnError(e -> failed(sample, operation, e));
+                }))
+                .retryWhen(Retry.backoff(attempts - 1, MIN_BACKOFF)
+                        .maxBackoff(MAX_BACKOFF)
+                        .filter(WebClientResponseException.TooManyRequests.class::isInstance)
+                        .doBeforeRetry(signal -> log.debug(
+                                "Upstream throttled {} request, retrying (attempt {} of {})",
+                                priority,
+                                signal.totalRetries() + 1,
+                                attempts))
+                        .onRetryExhaustedThrow((spec, signal) -> new UpstreamThrottledException(
+                                "Upstream rejected request " + (signal.totalRetries() + 1) + " time(s) with 429")));
+    }
+
+    private Mono<Void> permit(Priority priority) {
+        return Mono.fromCallable(() -> rateLimiter.acquire(priority, Duration.ZERO))
+                .filter(Boolean::booleanValue)
+                .repeatWhenEmpty(polls -> polls.delayElements(PERMIT_POLL))
+                .timeout(
+                        maxWait,
+                        Mono.error(() ->
+                                new UpstreamThrottledException("No upstream request budget available within " + maxWait)))
+                .then();
+    }
+
+    private void succeeded(Timer.Sample sample, String operation) {
+        stop(sample, operation, "SUCCESS");
+        rateLimiter.onAccepted();
+    }
+
+    private void failed(Timer.Sample sample, String operation, Throwable error) {
+        if (error instanceof WebClientResponseException.TooManyRequests e) {
+            stop(sample, operation, "THROTTLED");
+            throttled.increment();
+            rateLimiter.onThrottled(retryAfter(e));
+        } else if (error instanceof WebClientResponseException e) {
+            if (e.getStatusCode().is5xxServerError()) {
+                stop(sample, operation, "SERVER_ERROR");
+                serverErrors.increment();
+            } else {
+                stop(sample, operation, "CLIENT_ERROR");
+            }
+            rateLimiter.onAccepted();
+        } else {
+            stop(sample, operation, "ERROR");
+        }
+    }
+
+    private void stop(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder("employee.upstream.requests")
+                .description("Upstream call latency per attempt")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private static Duration retryAfter(WebClientResponseException e) {
+        String retryAfter = e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException ignored) {
+            return null;
+        }
+    }
+}
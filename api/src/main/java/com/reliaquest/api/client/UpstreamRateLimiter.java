@@ -0,0 +1,244 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Client-side budget for the rate limited mock employee API, learned from the 429s it returns.
+ *
+ * <p>The upstream admits a fixed number of requests and then rejects everything until a cool-down has passed since the
+ * last admitted request, after which the count starts over. This limiter mirrors that shape: it hands out
+ * {@code limit} permits per cycle and, once they are used up, restores the full budget {@code window} after the last
+ * admitted request. Both values start from configuration and are corrected from observed responses:
+ *
+ * <ul>
+ *   <li>the first 429 sets the limit to the number of requests that succeeded since the previous cool-down, which is
+ *       exactly what the upstream counted;
+ *   <li>until such a 429 has been seen, every used-up cycle probes one permit higher next time;
+ *   <li>after a 429 a single probe is let through once the cool-down should be over; a 429 on the probe grows the
+ *       window by half, and a success sets the window to the time actually waited.
+ * </ul>
+ *
+ * <p>While a writer is waiting for a permit, readers wait behind it. Waiting uses a {@link ReentrantLock} rather than a
+ * monitor, so a virtual thread waiting for a permit releases its carrier thread.
+ */
+@Slf4j
+public class UpstreamRateLimiter {
+
+    public enum Priority {
+        WRITE,
+        READ
+    }
+
+    public record Budget(int permits, int limit, Duration window, Duration blockedFor) {}
+
+    private static final long MIN_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final LongSupplier nanoClock;
+    private final long maxWindowNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private int limit;
+    private boolean limitObserved;
+    private long windowNanos;
+    private int permits;
+    private long lastAdmittedAt;
+    private long lastSucceededAt;
+    private long blockedUntil;
+    private int succeededSinceCoolDown;
+    private int throttledInRow;
+    private long lastSuccessBeforeThrottle;
+    private boolean probing;
+    private int writersWaiting;
+
+    public UpstreamRateLimiter(int initialLimit, Duration initialWindow, Duration maxWindow) {
+        this(initialLimit, initialWindow, maxWindow, System::nanoTime);
+    }
+
+    public UpstreamRateLimiter(int initialLimit, Duration initialWindow, Duration maxWindow, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.maxWindowNanos = maxWindow.toNanos();
+        this.limit = Math.max(1, initialLimit);
+        this.windowNanos = initialWindow.toNanos();
+        this.permits = limit;
+        this.lastAdmittedAt = nanoClock.getAsLong();
+        this.lastSucceededAt = lastAdmittedAt;
+        this.blockedUntil = lastAdmittedAt;
+    }
+
+    /**
+     * Waits up to {@code maxWait} for a permit.
+     *
+     * @return {@code false} if no permit became available in time, or the thread was interrupted
+     */
+    public boolean acquire(Priority priority, Duration maxWait) {
+        lock.lock();
+        long deadline = nanoClock.getAsLong() + maxWait.toNanos();
+        if (priority == Priority.WRITE) {
+            writersWaiting++;
+        }
+        try {
+            while (true) {
+                long now = nanoClock.getAsLong();
+                restore(now);
+                if (now >= blockedUntil && permits > 0 && admits(priority)) {
+                    permits--;
+                    lastAdmittedAt = now;
+                    if (throttledInRow > 0) {
+                        // the probe's outcome normally arrives first; this only keeps a lost probe from blocking us
+                        probing = true;
+                        blockedUntil = now + windowNanos / 4;
+                    }
+                    return true;
+                }
+                long waitNanos = Math.max(MIN_WAIT_NANOS, availableAt(now) - now);
+                if (now + waitNanos > deadline) {
+                    return false;
+                }
+                changed.awaitNanos(waitNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            if (priority == Priority.WRITE) {
+                writersWaiting--;
+            }
+            changed.signalAll();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a response the upstream counted against its limit, i.e. anything but a 429.
+     */
+    public void onAccepted() {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            if (throttledInRow > 0) {
+                if (!probing) {
+                    // admitted before the 429 and answered after it; says nothing about the cool-down
+                    return;
+                }
+                windowNanos = Math.min(maxWindowNanos, now - lastSuccessBeforeThrottle);
+                throttledInRow = 0;
+                probing = false;
+                permits = limit - 1;
+                succeededSinceCoolDown = 0;
+                log.info("Upstream accepted requests again, learned budget of {} per {}", limit, window());
+            }
+            succeededSinceCoolDown++;
+            lastSucceededAt = now;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param retryAfter cool-down announced by the upstream, or {@code null} to use the learned window
+     */
+    public void onThrottled(Duration retryAfter) {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            if (throttledInRow == 0) {
+                limit = Math.max(1, succeededSinceCoolDown);
+                limitObserved = true;
+                lastSuccessBeforeThrottle = lastSucceededAt;
+            } else if (probing) {
+                windowNanos = Math.min(maxWindowNanos, windowNanos + windowNanos / 2);
+                probing = false;
+            } else {
+                return;
+            }
+            throttledInRow++;
+            succeededSinceCoolDown = 0;
+            permits = 0;
+            blockedUntil = retryAfter != null ? now + retryAfter.toNanos() : lastSuccessBeforeThrottle + windowNanos;
+            if (retryAfter == null && blockedUntil <= now) {
+                blockedUntil = now + windowNanos / 2;
+            }
+            log.warn(
+                    "Upstream throttled request, budget now {} per {}, blocked for {}",
+                    limit,
+                    window(),
+                    Duration.ofNanos(blockedUntil - now));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Budget budget() {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            restore(now);
+            return new Budget(permits, limit, window(), Duration.ofNanos(Math.max(0, blockedUntil - now)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("employee.upstream.budget.permits", this, limiter -> limiter.budget().permits())
+                .register(meterRegistry);
+        Gauge.builder("employee.upstream.budget.limit", this, limiter -> limiter.budget().limit())
+                .register(meterRegistry);
+        Gauge.builder("employee.upstream.budget.window", this, limiter -> limiter.budget()
+                        .window()
+                        .toMillis())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("employee.upstream.budget.blocked", this, limiter -> limiter.budget()
+                        .blockedFor()
+                        .toMillis())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    private void restore(long now) {
+        if (permits > 0) {
+            return;
+        }
+        if (throttledInRow > 0) {
+            if (now >= blockedUntil) {
+                permits = 1;
+            }
+            return;
+        }
+        if (now - lastAdmittedAt < windowNanos) {
+            return;
+        }
+        if (!limitObserved) {
+            limit++;
+        }
+        permits = limit;
+    }
+
+    private boolean admits(Priority priority) {
+        return priority == Priority.WRITE || writersWaiting == 0;
+    }
+
+    private long availableAt(long now) {
+        if (now < blockedUntil) {
+            return blockedUntil;
+        }
+        if (permits == 0 && throttledInRow == 0) {
+            return lastAdmittedAt + windowNanos;
+        }
+        return now + MIN_WAIT_NANOS;
+    }
+
+    private Duration window() {
+        return Duration.ofNanos(windowNanos);
+    }
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.client;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The mock employee API kept rejecting a request with 429 and no budget was available within the allowed wait.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class UpstreamThrottledException extends RuntimeException {
+
+    public UpstreamThrottledException(String message) {
+        super(message);
+    }
+}
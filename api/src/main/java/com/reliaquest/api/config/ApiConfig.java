@@ -1,14 +1,100 @@
 package com.reliaquest.api.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeChangeFeed;
+import com.reliaquest.api.client.UpstreamRateLimiter;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.FanOut;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class ApiConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(ClientHttpRequestFactory upstreamRequestFactory, MeterRegistry meterRegistry) {
+        RestTemplate restTemplate = new RestTemplate(upstreamRequestFactory);
+        restTemplate.getInterceptors().add(new PayloadSizeInterceptor(meterRegistry));
+        return restTemplate;
+    }
+
+    @Bean
+    public UpstreamRateLimiter upstreamRateLimiter(
+            @Value("${employee.upstream.limit.initial-requests:5}") int initialRequests,
+            @Value("${employee.upstream.limit.initial-window:30s}") Duration initialWindow,
+            @Value("${employee.upstream.limit.max-window:2m}") Duration maxWindow,
+            MeterRegistry meterRegistry) {
+        UpstreamRateLimiter rateLimiter = new UpstreamRateLimiter(initialRequests, initialWindow, maxWindow);
+        rateLimiter.bindTo(meterRegistry);
+        return rateLimiter;
+    }
+
+    /**
+     * Only followed while the roster cache is enabled, and not before it is first loaded. The stream gets a connection
+     * of its own rather than one from the upstream pool, which it would hold for good, with a read timeout that only
+     * has to outlast the upstream's heartbeat interval rather than a whole response.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "employee.changes.enabled", havingValue = "true")
+    public EmployeeChangeFeed employeeChangeFeed(
+            ObjectMapper objectMapper,
+            EmployeeService employeeService,
+            @Value("${employee.changes.reconnect-delay:1s}") Duration reconnectDelay,
+            @Value("${employee.upstream.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${employee.changes.read-timeout:10s}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        EmployeeChangeFeed changeFeed =
+                new EmployeeChangeFeed(new RestTemplate(requestFactory), objectMapper, reconnectDelay);
+        employeeService.followChanges(changeFeed);
+        return changeFeed;
+    }
+
+    /**
+     * Picked up by Spring Boot ahead of its default converters, so cached roster responses skip the Jackson converter.
+     */
+    @Bean
+    public HttpMessageConverter<?> encodedListHttpMessageConverter(ObjectMapper objectMapper) {
+        return new EncodedListHttpMessageConverter(objectMapper);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService employeeRefreshExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * One thread per concurrent upstream call: virtual when {@code spring.threads.virtual.enabled} is set, which needs a
+     * Java 21 runtime, otherwise platform threads capped at {@code employee.fan-out.max-concurrency}.
+     */
+    @Bean
+    public FanOut employeeFanOut(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${employee.fan-out.max-concurrency:16}") int maxConcurrency,
+            @Value("${employee.fan-out.timeout:10s}") Duration timeout) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("employee-fan-out-");
+        executor.setVirtualThreads(virtualThreads);
+        if (!virtualThreads) {
+            executor.setConcurrencyLimit(maxConcurrency);
+        }
+        return new FanOut(executor, timeout);
     }
 }
@@ -0,0 +1,107 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EncodedList;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Writes an {@link EncodedList} as JSON from the bytes it keeps, encoding it with the application's
+ * {@link ObjectMapper} only the first time. Clients that accept gzip get the compressed copy, with
+ * {@code Content-Encoding: gzip}. Registered ahead of the Jackson converter; any other body is left to it.
+ */
+class EncodedListHttpMessageConverter extends AbstractHttpMessageConverter<EncodedList<?>> {
+
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+
+    EncodedListHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EncodedList.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EncodedList<?> readInternal(Class<? extends EncodedList<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Encoded lists are written only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(EncodedList<?> list, HttpOutputMessage outputMessage) throws IOException {
+        EncodedList.Encoded encoded = list.encode(objectMapper::writeValueAsBytes);
+        HttpHeaders headers = outputMessage.getHeaders();
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = encoded.bytes();
+        if (acceptsGzip(currentRequest())) {
+            body = encoded.gzipped();
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        headers.setContentLength(body.length);
+        StreamUtils.copy(body, outputMessage.getBody());
+    }
+
+    /**
+     * @return whether {@code Accept-Encoding} gives gzip a non-zero quality; gzip takes the quality it is listed with
+     *     and only falls back to that of {@code *} when it is not listed, as in RFC 9110, section 12.5.3
+     */
+    static boolean acceptsGzip(HttpServletRequest request) {
+        if (request == null) {
+            return false;
+        }
+        String header = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (header == null) {
+            return false;
+        }
+        double anyQuality = 0;
+        for (String coding : header.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase(GZIP)) {
+                return quality(parts) > 0;
+            }
+            if (name.equals("*")) {
+                anyQuality = quality(parts);
+            }
+        }
+        return anyQuality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? servlet.getRequest() : null;
+    }
+}
@@ -0,0 +1,130 @@
+package com.reliaquest.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Records the size of upstream request and response bodies as {@code employee.upstream.payload.size}.
+ *
+ * <p>Response bodies are counted as they are read rather than buffered, so streamed responses keep streaming; the size
+ * is recorded once the body is exhausted or the response is closed.
+ */
+class PayloadSizeInterceptor implements ClientHttpRequestInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    PayloadSizeInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String method = request.getMethod().name();
+        if (body.length > 0) {
+            summary(method, "request").record(body.length);
+        }
+        return new CountingResponse(execution.execute(request, body), summary(method, "response"));
+    }
+
+    private DistributionSummary summary(String method, String direction) {
+        return DistributionSummary.builder("employee.upstream.payload.size")
+                .description("Upstream request and response body sizes")
+                .baseUnit("bytes")
+                .tag("method", method)
+                .tag("direction", direction)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(64.0)
+                .maximumExpectedValue(256.0 * 1024 * 1024)
+                .register(meterRegistry);
+    }
+
+    private static class CountingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final DistributionSummary sizes;
+
+        private long bytes;
+        private boolean recorded;
+        private InputStream body;
+
+        CountingResponse(ClientHttpResponse response, DistributionSummary sizes) {
+            this.response = response;
+            this.sizes = sizes;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(response.getBody()) {
+
+                    @Override
+                    public int read() throws IOException {
+                        int read = super.read();
+                        count(read < 0 ? -1 : 1);
+                        return read;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int read = super.read(buffer, offset, length);
+                        count(read);
+                        return read;
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        record();
+                        super.close();
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            record();
+            response.close();
+        }
+
+        private void count(int read) {
+            if (read < 0) {
+                record();
+            } else {
+                bytes += read;
+            }
+        }
+
+        private void record() {
+            if (!recorded) {
+                recorded = true;
+                sizes.record(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.config;
+
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Non-blocking HTTP transport for calls to the mock employee API, used when the api runs on WebFlux
+ * ({@code spring.main.web-application-type: reactive}).
+ *
+ * <p>Reactor Netty shares the server's small event-loop pool, so a slow upstream costs a pooled connection and a queued
+ * acquire rather than a thread. Connections beyond {@code employee.upstream.http.max-connections} wait in a bounded
+ * queue for at most the pool wait timeout; the response timeout applies between reads, which also bounds a stalled
+ * stream.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUpstreamConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(
+            @Value("${employee.upstream.http.max-connections:50}") int maxConnections,
+            @Value("${employee.upstream.http.max-pending-acquires:10000}") int maxPendingAcquires,
+            @Value("${employee.upstream.http.pool-wait-timeout:1s}") Duration poolWaitTimeout,
+            @Value("${employee.upstream.http.idle-eviction:30s}") Duration idleEviction,
+            @Value("${employee.upstream.http.time-to-live:5m}") Duration timeToLive) {
+        return ConnectionProvider.builder("employee-upstream")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPendingAcquires)
+                .pendingAcquireTimeout(poolWaitTimeout)
+                .maxIdleTime(idleEviction)
+                .maxLifeTime(timeToLive)
+                .evictInBackground(idleEviction)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient upstreamWebClient(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider upstreamConnectionProvider,
+            @Value("${employee.upstream.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${employee.upstream.http.response-timeout:5s}") Duration responseTimeout) {
+        HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .responseTimeout(responseTimeout);
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
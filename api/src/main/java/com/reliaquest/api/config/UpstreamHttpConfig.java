@@ -0,0 +1,90 @@
+package com.reliaquest.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+/**
+ * HTTP transport for calls to the mock employee API.
+ *
+ * <p>By default a pooled Apache HttpClient with keep-alive, bounded connect/read/response timeouts and idle eviction is
+ * used; pool usage and lease wait time are published as metrics. Setting {@code employee.upstream.http.version} to
+ * {@code HTTP_2} switches to the JDK client, which multiplexes requests over a single connection and so has no pool to
+ * size or observe.
+ */
+@Configuration
+public class UpstreamHttpConfig {
+
+    private static final String VERSION_PROPERTY = "employee.upstream.http.version";
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = VERSION_PROPERTY, havingValue = "HTTP_1_1", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(
+            @Value("${employee.upstream.http.max-connections:50}") int maxConnections,
+            @Value("${employee.upstream.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${employee.upstream.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${employee.upstream.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${employee.upstream.http.time-to-live:5m}") Duration timeToLive,
+            MeterRegistry meterRegistry) {
+        Timer leaseWait = Timer.builder("employee.upstream.pool.wait")
+                .description("Time spent waiting to lease a pooled upstream connection")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        PoolingHttpClientConnectionManager connectionManager = new LeaseTimingConnectionManager(leaseWait);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                .setTimeToLive(TimeValue.of(timeToLive))
+                .build());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "employee-upstream").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = VERSION_PROPERTY, havingValue = "HTTP_1_1", matchIfMissing = true)
+    public ClientHttpRequestFactory pooledRequestFactory(
+            PoolingHttpClientConnectionManager upstreamConnectionManager,
+            @Value("${employee.upstream.http.response-timeout:5s}") Duration responseTimeout,
+            @Value("${employee.upstream.http.pool-wait-timeout:1s}") Duration poolWaitTimeout,
+            @Value("${employee.upstream.http.idle-eviction:30s}") Duration idleEviction) {
+        return new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolWaitTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = VERSION_PROPERTY, havingValue = "HTTP_2")
+    public ClientHttpRequestFactory http2RequestFactory(
+            @Value("${employee.upstream.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${employee.upstream.http.response-timeout:5s}") Duration responseTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build());
+        requestFactory.setReadTimeout(responseTimeout);
+        return requestFactory;
+    }
+}
@@ -1,22 +1,37 @@
 package com.reliaquest.api.controller;
 
 import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.CreateEmployeeResult;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.SalaryAnalytics;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class EmployeeController implements IEmployeeController<Employee, CreateEmployeeInput> {
 
+    static final int MAX_IDS = 100;
+
     private final EmployeeService employeeService;
 
+    /**
+     * Served from the cached snapshot, the body is written from JSON encoded once per snapshot version, gzipped for
+     * clients that accept it.
+     */
     @Override
     public ResponseEntity<List<Employee>> getAllEmployees() {
         List<Employee> employees = employeeService.getAllEmployees();
@@ -45,6 +60,21 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         }
     }
 
+    /**
+     * Looks up to {@value #MAX_IDS} employees up at once, e.g. {@code /batch?ids=a,b}; unknown ids are left out.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<List<Employee>> getEmployeesByIds(@RequestParam List<String> ids) {
+        if (ids.size() > MAX_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Employee> employees = employeeService.getEmployeesByIds(ids);
+        if (employees.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(employees);
+    }
+
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         Integer highestSalary = employeeService.getHighestSalary();
@@ -54,6 +84,27 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         return ResponseEntity.ok(highestSalary);
     }
 
+    /**
+     * Filters by salary and age range and by title, e.g.
+     * {@code /query?minSalary=100000&title=Developer&sort=-age&limit=20}; see {@link EmployeeQuery} for the parameters.
+     * An empty page is still a 200.
+     */
+    @GetMapping("/query")
+    public ResponseEntity<List<Employee>> getEmployeesByQuery(EmployeeQuery query) {
+        if (!query.wellFormed()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.getEmployeesByQuery(query));
+    }
+
+    /**
+     * Salary count, min, max, mean and percentiles per title and per age band.
+     */
+    @GetMapping("/salaryAnalytics")
+    public ResponseEntity<SalaryAnalytics> getSalaryAnalytics() {
+        return ResponseEntity.ok(employeeService.getSalaryAnalytics());
+    }
+
     @Override
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
         List<String> top10Names = employeeService.getTop10HighestEarningEmployeeNames();
@@ -70,6 +121,20 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         }
     }
 
+    /**
+     * Creates a batch of employees with one upstream request. Entries are validated individually upstream; the response
+     * holds one result per entry, carrying either the created employee or the reasons it was rejected.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<CreateEmployeeResult>> createEmployees(@RequestBody List<CreateEmployeeInput> inputs) {
+        List<CreateEmployeeResult> results = employeeService.createEmployees(inputs);
+        if (results != null) {
+            return ResponseEntity.ok(results);
+        } else {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
         String name = employeeService.deleteEmployeeById(id);
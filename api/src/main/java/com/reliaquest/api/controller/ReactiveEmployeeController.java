@@ -0,0 +1,116 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.CreateEmployeeResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.SalaryAnalytics;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux version of {@link EmployeeController}, active when the api runs reactive. It serves the same routes with the
+ * same responses; it cannot implement {@link IEmployeeController}, whose methods return their responses synchronously.
+ */
+@RestController
+@RequestMapping("/api/v1/employee")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService employeeService;
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return employeeService.getAllEmployees().map(ReactiveEmployeeController::okOrNotFound);
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        return employeeService.getEmployeesByNameSearch(searchString).map(ReactiveEmployeeController::okOrNotFound);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        return employeeService
+                .getEmployeeById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/batch")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByIds(@RequestParam List<String> ids) {
+        if (ids.size() > EmployeeController.MAX_IDS) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return employeeService.getEmployeesByIds(ids).map(ReactiveEmployeeController::okOrNotFound);
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return employeeService
+                .getHighestSalary()
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/query")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByQuery(EmployeeQuery query) {
+        if (!query.wellFormed()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return employeeService.getEmployeesByQuery(query).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/salaryAnalytics")
+    public Mono<ResponseEntity<SalaryAnalytics>> getSalaryAnalytics() {
+        return employeeService.getSalaryAnalytics().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getTop10HighestEarningEmployeeNames().map(ResponseEntity::ok);
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody CreateEmployeeInput employeeInput) {
+        return employeeService
+                .createEmployee(employeeInput)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<CreateEmployeeResult>>> createEmployees(
+            @RequestBody List<CreateEmployeeInput> inputs) {
+        return employeeService
+                .createEmployees(inputs)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return employeeService
+                .deleteEmployeeById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private static <T> ResponseEntity<List<T>> okOrNotFound(List<T> values) {
+        return values.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(values);
+    }
+}
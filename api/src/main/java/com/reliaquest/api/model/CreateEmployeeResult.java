@@ -0,0 +1,15 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateEmployeeResult {
+    private int index;
+    private Employee employee;
+    private List<String> errors;
+}
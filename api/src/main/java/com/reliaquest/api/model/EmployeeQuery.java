@@ -0,0 +1,106 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import java.util.Locale;
+import lombok.Data;
+
+/**
+ * Filters, order and page of a roster query, bound from the query string of {@code GET /api/v1/employee/query}.
+ *
+ * <p>Bounds are inclusive and every filter given must match; {@code title} may be repeated and matches any of the
+ * titles exactly. {@code sort} is {@code salary}, {@code age} or {@code name}, prefixed with {@code -} to sort
+ * descending; ties keep the roster order and employees without the sorted field come last. Without a sort the roster
+ * order is kept.
+ */
+@Data
+public class EmployeeQuery {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private Integer minSalary;
+    private Integer maxSalary;
+    private Integer minAge;
+    private Integer maxAge;
+    private List<String> title;
+    private String sort;
+    private int limit = DEFAULT_LIMIT;
+    private int offset;
+
+    public enum SortKey {
+        SALARY,
+        AGE,
+        NAME
+    }
+
+    /**
+     * @return whether the bounds are ordered, the sort is known and the page is within {@value #MAX_LIMIT} rows
+     */
+    public boolean wellFormed() {
+        if (minSalary != null && maxSalary != null && minSalary > maxSalary) {
+            return false;
+        }
+        if (minAge != null && maxAge != null && minAge > maxAge) {
+            return false;
+        }
+        if (limit < 0 || limit > MAX_LIMIT || offset < 0) {
+            return false;
+        }
+        try {
+            sortKey();
+            return true;
+        } catch (IllegalArgumentException unknownSort) {
+            return false;
+        }
+    }
+
+    /**
+     * @return the field to sort by, or null to keep the roster order
+     */
+    public SortKey sortKey() {
+        if (sort == null || sort.isBlank()) {
+            return null;
+        }
+        String field = descending() ? sort.substring(1) : sort;
+        return SortKey.valueOf(field.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public boolean descending() {
+        return sort != null && sort.startsWith("-");
+    }
+
+    public boolean filtersSalary() {
+        return minSalary != null || maxSalary != null;
+    }
+
+    public boolean filtersAge() {
+        return minAge != null || maxAge != null;
+    }
+
+    public boolean filtersTitle() {
+        return title != null && !title.isEmpty();
+    }
+
+    public boolean salaryMatches(Integer salary) {
+        return !filtersSalary() || (salary != null && within(salary, minSalary, maxSalary));
+    }
+
+    public boolean ageMatches(Integer age) {
+        return !filtersAge() || (age != null && within(age, minAge, maxAge));
+    }
+
+    public boolean titleMatches(String employeeTitle) {
+        return !filtersTitle() || (employeeTitle != null && title.contains(employeeTitle));
+    }
+
+    /**
+     * @return the index just past the last row of the page, without overflowing
+     */
+    public int end() {
+        return (int) Math.min(Integer.MAX_VALUE, (long) offset + limit);
+    }
+
+    private static boolean within(int value, Integer min, Integer max) {
+        return (min == null || value >= min) && (max == null || value <= max);
+    }
+}
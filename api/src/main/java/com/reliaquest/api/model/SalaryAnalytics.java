@@ -0,0 +1,22 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Salary statistics of the roster grouped by title and by ten-year age band. Employees without a salary are left out;
+ * those without a title or age are grouped under {@code unknown}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class SalaryAnalytics {
+    private int employees;
+    private Map<String, SalaryStatistics> byTitle;
+    private Map<String, SalaryStatistics> byAgeBand;
+}
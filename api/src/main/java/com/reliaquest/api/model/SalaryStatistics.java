@@ -0,0 +1,24 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Salary distribution of a group of employees. Percentiles are exact, by the nearest-rank method.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class SalaryStatistics {
+    private int count;
+    private int min;
+    private int max;
+    private double mean;
+    private int p50;
+    private int p90;
+    private int p99;
+}
@@ -1,65 +1,136 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.Roster;
+import com.reliaquest.api.client.EmployeeAggregates;
+import com.reliaquest.api.client.EmployeeChangeFeed;
+import com.reliaquest.api.client.EmployeeClient;
 import com.reliaquest.api.model.ApiResponse;
 import com.reliaquest.api.model.CreateEmployeeInput;
-import com.reliaquest.api.model.DeleteEmployeeInput;
+import com.reliaquest.api.model.CreateEmployeeResult;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.SalaryAnalytics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 
 @Slf4j
 @Service
-public class EmployeeService {
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class EmployeeService implements MeterBinder {
 
-    private final RestTemplate restTemplate;
-    private static final String BASE_URL = "http://localhost:8112/api/v1/employee";
+    private static final int TOP_EARNERS = 10;
 
-    public EmployeeService(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    private final EmployeeClient employeeClient;
+    private final boolean cacheEnabled;
+    private final EmployeeSnapshotCache snapshotCache;
+    private final FanOut fanOut;
+
+    private volatile EmployeeChangeFeed changeFeed;
+
+    /**
+     * @param cacheEnabled when {@code false} no roster snapshot is kept; list reads go straight to the upstream and
+     *     aggregates are computed while streaming its response
+     */
+    public EmployeeService(
+            EmployeeClient employeeClient,
+            @Value("${employee.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${employee.cache.ttl:30s}") Duration cacheTtl,
+            Executor employeeRefreshExecutor,
+            FanOut employeeFanOut) {
+        this.employeeClient = employeeClient;
+        this.cacheEnabled = cacheEnabled;
+        this.snapshotCache = new EmployeeSnapshotCache(this::fetchRoster, cacheTtl, employeeRefreshExecutor);
+        this.fanOut = employeeFanOut;
     }
 
-    private <T> T getDataFromApi(String url, ParameterizedTypeReference<ApiResponse<T>> responseType) {
-        ResponseEntity<ApiResponse<T>> response = restTemplate.exchange(url, HttpMethod.GET, null, responseType);
-        ApiResponse<T> apiResponse = response.getBody();
-        if (apiResponse != null && apiResponse.getData() != null) {
-            return apiResponse.getData();
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        snapshotCache.bindTo(meterRegistry);
+    }
+
+    /**
+     * Keeps the roster snapshot current from {@code changeFeed} once it has first been loaded, instead of reloading it
+     * every TTL. Should the feed drop, the TTL applies again until it is back.
+     */
+    public void followChanges(EmployeeChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    /*
+     * Starting the feed here means it runs only for a snapshot in use. It connects without an event id and so starts
+     * with a reset, which expires the snapshot this load installs; the reload that follows includes every change made
+     * before the feed was connected.
+     */
+    private Roster fetchRoster(String etag) {
+        EmployeeChangeFeed feed = changeFeed;
+        if (feed != null) {
+            feed.start(new ChangeFeedListener());
         }
-        log.warn("API response empty or missing data for URL: {}", url);
-        return null;
+        ResponseEntity<List<Employee>> response = employeeClient.getAllEmployeesIfNoneMatch(etag);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return Roster.notModified(etag);
+        }
+        List<Employee> employees = response.getBody();
+        if (employees == null || employees.isEmpty()) {
+            log.warn("No employees found from API at URL: {}", EmployeeClient.BASE_URL);
+        }
+        return new Roster(employees != null ? employees : Collections.emptyList(), response.getHeaders().getETag());
     }
 
-    public List<Employee> getAllEmployees() {
-        List<Employee> employees =
-                getDataFromApi(BASE_URL, new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {});
+    private List<Employee> fetchAllEmployees() {
+        List<Employee> employees = employeeClient.getAllEmployees();
         if (employees == null || employees.isEmpty()) {
-            log.warn("No employees found from API at URL: {}", BASE_URL);
+            log.warn("No employees found from API at URL: {}", EmployeeClient.BASE_URL);
         }
         return employees != null ? employees : Collections.emptyList();
     }
 
+    private Employee fetchEmployeeIfExists(String id) {
+        try {
+            return employeeClient.getEmployeeById(id);
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
+        }
+    }
+
+    public List<Employee> getAllEmployees() {
+        return cacheEnabled ? snapshotCache.get().employees() : fetchAllEmployees();
+    }
+
     public List<Employee> getEmployeesByNameSearch(String searchString) {
-        List<Employee> allEmployees = getAllEmployees();
+        if (!cacheEnabled) {
+            List<Employee> filtered = employeeClient.aggregateEmployees(
+                    "search:" + searchString, () -> EmployeeAggregates.nameContains(searchString));
+            if (filtered.isEmpty()) {
+                log.info("No employees found matching search string '{}'", searchString);
+            }
+            return filtered;
+        }
 
-        if (allEmployees == null || allEmployees.isEmpty()) {
+        EmployeeSnapshot snapshot = snapshotCache.get();
+
+        if (snapshot.size() == 0) {
             log.warn("Employee list is empty when searching for name '{}'", searchString);
             return Collections.emptyList();
         }
 
-        String lowerSearch = searchString.toLowerCase();
-
-        List<Employee> filtered = allEmployees.stream()
-                .filter(emp -> emp.getEmployeeName() != null
-                        && emp.getEmployeeName().toLowerCase().contains(lowerSearch))
-                .collect(Collectors.toList());
+        List<Employee> filtered = snapshot.searchByName(searchString);
 
         if (filtered.isEmpty()) {
             log.info("No employees found matching search string '{}'", searchString);
@@ -68,11 +139,21 @@ public class EmployeeService {
         return filtered;
     }
 
+    public List<Employee> getEmployeesByQuery(EmployeeQuery query) {
+        if (!cacheEnabled) {
+            return employeeClient.aggregateEmployees("query:" + query, () -> EmployeeAggregates.query(query));
+        }
+        return snapshotCache.get().query(query);
+    }
+
     public Employee getEmployeeById(String id) {
-        String url = BASE_URL + "/" + id;
+        Employee cached = snapshotCache.findById(id).orElse(null);
+        if (cached != null) {
+            return cached;
+        }
 
         try {
-            Employee employee = getDataFromApi(url, new ParameterizedTypeReference<ApiResponse<Employee>>() {});
+            Employee employee = employeeClient.getEmployeeById(id);
             if (employee == null) {
                 log.warn("Employee with ID {} not found.", id);
             }
@@ -83,35 +164,66 @@ public class EmployeeService {
         }
     }
 
-    public Integer getHighestSalary() {
-        List<Employee> employees = getAllEmployees();
+    /**
+     * Looks several employees up at once. Ids missing from the snapshot are fetched from the upstream concurrently, one
+     * call each.
+     *
+     * @return the employees found, in the order of {@code ids}, without duplicates
+     */
+    public List<Employee> getEmployeesByIds(List<String> ids) {
+        List<String> distinct = ids.stream().distinct().toList();
+        List<Employee> found = new ArrayList<>(distinct.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : distinct) {
+            Employee cached = snapshotCache.findById(id).orElse(null);
+            found.add(cached);
+            if (cached == null) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<Employee> fetched = fanOut.map(missing, this::fetchEmployeeIfExists);
+            for (int i = 0, next = 0; i < found.size(); i++) {
+                if (found.get(i) == null) {
+                    found.set(i, fetched.get(next++));
+                }
+            }
+        }
+        return found.stream().filter(Objects::nonNull).toList();
+    }
 
-        return employees.stream().mapToInt(Employee::getEmployeeSalary).max().orElse(0);
+    public Integer getHighestSalary() {
+        if (!cacheEnabled) {
+            return employeeClient.aggregateEmployees("highest-salary", EmployeeAggregates::highestSalary);
+        }
+        return snapshotCache.get().highestSalary().orElse(0);
     }
 
     public List<String> getTop10HighestEarningEmployeeNames() {
-        List<Employee> allEmployees = getAllEmployees();
-
-        if (allEmployees == null || allEmployees.isEmpty()) {
-            return Collections.emptyList();
+        if (!cacheEnabled) {
+            return employeeClient.aggregateEmployees(
+                    "top-earners", () -> EmployeeAggregates.topEarnerNames(TOP_EARNERS));
         }
-
-        return allEmployees.stream()
-                .sorted(Comparator.comparing(Employee::getEmployeeSalary).reversed())
-                .limit(10)
+        return snapshotCache.get().topEarners(TOP_EARNERS).stream()
                 .map(Employee::getEmployeeName)
                 .collect(Collectors.toList());
     }
 
+    public SalaryAnalytics getSalaryAnalytics() {
+        if (!cacheEnabled) {
+            return employeeClient.aggregateEmployees("salary-analytics", EmployeeAggregates::salaryAnalytics);
+        }
+        return snapshotCache.get().salaryAnalytics();
+    }
+
     public Employee createEmployee(CreateEmployeeInput input) {
-        HttpEntity<CreateEmployeeInput> request = new HttpEntity<>(input);
-        ResponseEntity<ApiResponse<Employee>> response = restTemplate.exchange(
-                BASE_URL, HttpMethod.POST, request, new ParameterizedTypeReference<ApiResponse<Employee>>() {});
+        ResponseEntity<ApiResponse<Employee>> response = employeeClient.createEmployee(input);
 
         ApiResponse<Employee> apiResponse = response.getBody();
 
         if (apiResponse != null && apiResponse.getData() != null) {
             log.info("Successfully created employee: {}", apiResponse.getData());
+            snapshotCache.applyCreated(apiResponse.getData());
             return apiResponse.getData();
         } else {
             log.error("Failed to create employee: {}", response);
@@ -119,29 +231,86 @@ public class EmployeeService {
         }
     }
 
-    public String deleteEmployeeById(String id) {
-        Employee employee = getEmployeeById(id);
-        if (employee == null) {
-            log.warn("Employee with id {} not found for deletion", id);
+    /**
+     * @return one result per input, in input order, or {@code null} if the upstream did not answer with results
+     */
+    public List<CreateEmployeeResult> createEmployees(List<CreateEmployeeInput> inputs) {
+        ResponseEntity<ApiResponse<List<CreateEmployeeResult>>> response = employeeClient.createEmployees(inputs);
+
+        ApiResponse<List<CreateEmployeeResult>> apiResponse = response.getBody();
+
+        if (apiResponse == null || apiResponse.getData() == null) {
+            log.error("Failed to create employee batch: {}", response);
             return null;
         }
 
-        DeleteEmployeeInput input = new DeleteEmployeeInput();
-        input.setName(employee.getEmployeeName());
+        int created = 0;
+        for (CreateEmployeeResult result : apiResponse.getData()) {
+            if (result.getEmployee() != null) {
+                snapshotCache.applyCreated(result.getEmployee());
+                created++;
+            }
+        }
+        log.info("Created {} of {} employees in batch", created, inputs.size());
+        return apiResponse.getData();
+    }
 
-        HttpEntity<DeleteEmployeeInput> request = new HttpEntity<>(input);
+    /**
+     * The upstream deletes the oldest employee with a given name. When the snapshot holds {@code id} and no other
+     * employee with its name, that name is used directly, so the delete costs a single upstream call, and the snapshot
+     * is patched. Otherwise the employee is looked up first, as before, and since the upstream may then delete a
+     * namesake instead, the snapshot is invalidated rather than patched.
+     */
+    public String deleteEmployeeById(String id) {
+        String uniqueName = snapshotCache.uniqueName(id).orElse(null);
+        String name = uniqueName;
+        if (name == null) {
+            Employee employee = getEmployeeById(id);
+            if (employee == null) {
+                log.warn("Employee with id {} not found for deletion", id);
+                return null;
+            }
+            name = employee.getEmployeeName();
+        }
 
-        ResponseEntity<ApiResponse<Boolean>> response = restTemplate.exchange(
-                BASE_URL, HttpMethod.DELETE, request, new ParameterizedTypeReference<ApiResponse<Boolean>>() {});
+        ResponseEntity<ApiResponse<Boolean>> response = employeeClient.deleteEmployee(name);
 
         ApiResponse<Boolean> apiResponse = response.getBody();
 
         if (apiResponse != null && Boolean.TRUE.equals(apiResponse.getData())) {
-            log.info("Deleted employee: {}", employee.getEmployeeName());
-            return employee.getEmployeeName();
+            log.info("Deleted employee: {}", name);
+            if (uniqueName != null) {
+                snapshotCache.applyDeleted(id);
+            } else {
+                snapshotCache.invalidate();
+            }
+            return name;
         } else {
-            log.error("Failed to delete employee: {}", employee.getEmployeeName());
+            log.error("Failed to delete employee: {}", name);
             return null;
         }
     }
+
+    private class ChangeFeedListener implements EmployeeChangeFeed.Listener {
+
+        @Override
+        public void resynchronize() {
+            snapshotCache.invalidate();
+        }
+
+        @Override
+        public void created(Employee employee) {
+            snapshotCache.applyCreated(employee);
+        }
+
+        @Override
+        public void deleted(String id) {
+            snapshotCache.applyDeleted(id);
+        }
+
+        @Override
+        public void caughtUp() {
+            snapshotCache.confirmFresh();
+        }
+    }
 }
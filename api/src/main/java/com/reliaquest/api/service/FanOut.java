@@ -0,0 +1,93 @@
+package com.reliaquest.api.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Runs one blocking call per input concurrently and waits for all of them, with the guarantees of
+ * {@code StructuredTaskScope.ShutdownOnFailure}, which is still a preview API: when {@link #map} returns, every call
+ * has completed or been cancelled, and the first failure, or running past the timeout, interrupts the calls still
+ * running and is rethrown to the caller.
+ *
+ * <p>The calls run on the given executor, one virtual thread each when the api runs with
+ * {@code spring.threads.virtual.enabled}.
+ */
+public class FanOut {
+
+    private final Executor executor;
+    private final Duration timeout;
+
+    public FanOut(Executor executor, Duration timeout) {
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return the results of {@code call} in the order of {@code inputs}
+     * @throws FanOutTimeoutException if the calls did not all finish within the timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <T, R> List<R> map(List<T> inputs, Function<T, R> call) {
+        if (inputs.size() <= 1) {
+            return inputs.stream().map(call).toList();
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        ExecutorCompletionService<Indexed<R>> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Indexed<R>>> futures = new ArrayList<>(inputs.size());
+        Object[] results = new Object[inputs.size()];
+        try {
+            for (int i = 0; i < inputs.size(); i++) {
+                int index = i;
+                T input = inputs.get(i);
+                futures.add(completion.submit(() -> new Indexed<>(index, call.apply(input))));
+            }
+            for (int done = 0; done < futures.size(); done++) {
+                Future<Indexed<R>> finished = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (finished == null) {
+                    throw new TimeoutException();
+                }
+                Indexed<R> result = finished.get();
+                results[result.index()] = result.value();
+            }
+            return (List<R>) Arrays.asList(results);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException | CancellationException e) {
+            throw new FanOutTimeoutException(
+                    "%d concurrent calls did not finish within %s".formatted(inputs.size(), timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FanOutTimeoutException("Interrupted while waiting for %d concurrent calls".formatted(inputs.size()));
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public static class FanOutTimeoutException extends RuntimeException {
+
+        public FanOutTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    private record Indexed<R>(int index, R value) {}
+}
@@ -0,0 +1,117 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.EmployeeAggregates;
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.client.ReactiveEmployeeClient;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.CreateEmployeeResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.SalaryAnalytics;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService}. No roster snapshot is kept: every read streams the roster from
+ * the upstream and aggregates it on the way, as {@link EmployeeService} does with {@code employee.cache.enabled} off.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeService {
+
+    private static final int TOP_EARNERS = 10;
+
+    private static final int MAX_CONCURRENT_LOOKUPS = 16;
+
+    private final ReactiveEmployeeClient employeeClient;
+
+    public ReactiveEmployeeService(ReactiveEmployeeClient employeeClient) {
+        this.employeeClient = employeeClient;
+    }
+
+    public Mono<List<Employee>> getAllEmployees() {
+        return employeeClient.getAllEmployees().collectList().doOnNext(employees -> {
+            if (employees.isEmpty()) {
+                log.warn("No employees found from API at URL: {}", EmployeeClient.BASE_URL);
+            }
+        });
+    }
+
+    public Mono<List<Employee>> getEmployeesByNameSearch(String searchString) {
+        return employeeClient
+                .aggregateEmployees(() -> EmployeeAggregates.nameContains(searchString))
+                .doOnNext(filtered -> {
+                    if (filtered.isEmpty()) {
+                        log.info("No employees found matching search string '{}'", searchString);
+                    }
+                });
+    }
+
+    public Mono<List<Employee>> getEmployeesByQuery(EmployeeQuery query) {
+        return employeeClient.aggregateEmployees(() -> EmployeeAggregates.query(query));
+    }
+
+    public Mono<Employee> getEmployeeById(String id) {
+        return employeeClient
+                .getEmployeeById(id)
+                .doOnError(e -> log.error("Error fetching employee with ID {}: {}", id, e.getMessage()));
+    }
+
+    /**
+     * @return the employees found, in the order of {@code ids}, without duplicates
+     */
+    public Mono<List<Employee>> getEmployeesByIds(List<String> ids) {
+        return Flux.fromIterable(ids)
+                .distinct()
+                .flatMapSequential(this::getEmployeeById, MAX_CONCURRENT_LOOKUPS)
+                .collectList();
+    }
+
+    public Mono<Integer> getHighestSalary() {
+        return employeeClient.aggregateEmployees(EmployeeAggregates::highestSalary);
+    }
+
+    public Mono<List<String>> getTop10HighestEarningEmployeeNames() {
+        return employeeClient.aggregateEmployees(() -> EmployeeAggregates.topEarnerNames(TOP_EARNERS));
+    }
+
+    public Mono<SalaryAnalytics> getSalaryAnalytics() {
+        return employeeClient.aggregateEmployees(EmployeeAggregates::salaryAnalytics);
+    }
+
+    public Mono<Employee> createEmployee(CreateEmployeeInput input) {
+        return employeeClient
+                .createEmployee(input)
+                .mapNotNull(ApiResponse::getData)
+                .doOnNext(employee -> log.info("Successfully created employee: {}", employee));
+    }
+
+    public Mono<List<CreateEmployeeResult>> createEmployees(List<CreateEmployeeInput> inputs) {
+        return employeeClient.createEmployees(inputs).mapNotNull(ApiResponse::getData);
+    }
+
+    /**
+     * Looks the employee up to learn its name, then deletes by name. Without a snapshot there is no way to tell that a
+     * name is unique, so the lookup cannot be skipped as {@link EmployeeService#deleteEmployeeById} does.
+     *
+     * @return the deleted employee's name, or empty if there was none to delete
+     */
+    public Mono<String> deleteEmployeeById(String id) {
+        return getEmployeeById(id)
+                .mapNotNull(Employee::getEmployeeName)
+                .flatMap(name -> employeeClient.deleteEmployee(name).mapNotNull(response -> {
+                    if (Boolean.TRUE.equals(response.getData())) {
+                        log.info("Deleted employee: {}", name);
+                        return name;
+                    }
+                    log.error("Failed to delete employee: {}", name);
+                    return null;
+                }));
+    }
+}
@@ -0,0 +1,28 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Employees and snapshots shared by the cache tests.
+ */
+final class EmployeeFixtures {
+
+    private EmployeeFixtures() {}
+
+    static Employee employee(String id, String name, int salary) {
+        return new Employee(id, name, salary, 30, "Developer", null);
+    }
+
+    static EmployeeSnapshot snapshot(Employee... employees) {
+        return snapshot(List.of(employees));
+    }
+
+    /**
+     * @return a snapshot of {@code employees} numbered from a version sequence of its own
+     */
+    static EmployeeSnapshot snapshot(List<Employee> employees) {
+        return new EmployeeSnapshot(employees, new AtomicLong());
+    }
+}
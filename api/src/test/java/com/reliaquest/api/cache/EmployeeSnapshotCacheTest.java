@@ -0,0 +1,277 @@
+package com.reliaquest.api.cache;
+
+import static com.reliaquest.api.cache.EmployeeFixtures.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotCacheTest {
+
+    private final Queue<Runnable> refreshTasks = new ArrayDeque<>();
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicReference<List<Employee>> upstream = new AtomicReference<>();
+    private Runnable duringLoad = () -> {};
+
+    private EmployeeSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        upstream.set(List.of(employee("1", "Dylan Cann", 100000)));
+        cache = new EmployeeSnapshotCache(
+                () -> {
+                    loads.incrementAndGet();
+                    List<Employee> fetched = upstream.get();
+                    duringLoad.run();
+                    if (fetched == null) {
+                        throw new IllegalStateException("upstream unavailable");
+                    }
+                    return fetched;
+                },
+                Duration.ofSeconds(30),
+                refreshTasks::add,
+                clock);
+    }
+
+    @Test
+    void get_loadsOnceWhileFresh() {
+        EmployeeSnapshot first = cache.get();
+        EmployeeSnapshot second = cache.get();
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertTrue(refreshTasks.isEmpty());
+    }
+
+    @Test
+    void get_servesStaleSnapshotWhileRefreshing() {
+        EmployeeSnapshot first = cache.get();
+        upstream.set(List.of(employee("1", "Dylan Cann", 100000), employee("2", "Carissa Beebe", 120000)));
+        clock.advance(Duration.ofSeconds(31));
+
+        assertSame(first, cache.get());
+        assertSame(first, cache.get());
+        assertEquals(1, refreshTasks.size());
+
+        refreshTasks.poll().run();
+
+        EmployeeSnapshot refreshed = cache.get();
+        assertNotSame(first, refreshed);
+        assertEquals(2, refreshed.size());
+        assertTrue(refreshed.version() > first.version());
+    }
+
+    @Test
+    void get_keepsStaleSnapshotWhenRefreshFails() {
+        EmployeeSnapshot first = cache.get();
+        upstream.set(null);
+        clock.advance(Duration.ofSeconds(31));
+
+        cache.get();
+        refreshTasks.poll().run();
+
+        assertSame(first, cache.get());
+        assertEquals(1, refreshTasks.size());
+    }
+
+    @Test
+    void get_propagatesFailureWhenNothingLoaded() {
+        upstream.set(null);
+
+        assertThrows(IllegalStateException.class, cache::get);
+        assertNull(cache.peek());
+    }
+
+    @Test
+    void applyCreatedAndDeleted_patchSnapshotInPlace() {
+        EmployeeSnapshot snapshot = cache.get();
+        long version = snapshot.version();
+
+        cache.applyCreated(employee("2", "Carissa Beebe", 120000));
+        assertEquals(2, cache.get().size());
+        assertTrue(snapshot.version() > version);
+
+        cache.applyDeleted("1");
+        assertEquals(List.of("Carissa Beebe"), names(cache.get()));
+        assertTrue(snapshot.findById("1").isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void applyCreated_isReplayedOntoInFlightRefresh() {
+        cache.get();
+        clock.advance(Duration.ofSeconds(31));
+        cache.get();
+
+        // the create lands upstream after the refresh already read the roster
+        duringLoad = () -> cache.applyCreated(employee("2", "Carissa Beebe", 120000));
+        refreshTasks.poll().run();
+
+        assertEquals(List.of("Dylan Cann", "Carissa Beebe"), names(cache.get()));
+    }
+
+    @Test
+    void invalidate_triggersBackgroundRefresh() {
+        cache.get();
+        cache.invalidate();
+
+        cache.get();
+        assertEquals(1, refreshTasks.size());
+        refreshTasks.poll().run();
+
+        cache.get();
+        assertEquals(2, loads.get());
+        assertTrue(refreshTasks.isEmpty());
+    }
+
+    @Test
+    void invalidate_duringLoadExpiresTheSnapshotItInstalls() {
+        duringLoad = cache::invalidate;
+        EmployeeSnapshot first = cache.get();
+        duringLoad = () -> {};
+
+        assertSame(first, cache.get());
+        assertEquals(1, refreshTasks.size());
+        refreshTasks.poll().run();
+
+        assertNotSame(first, cache.get());
+        assertTrue(refreshTasks.isEmpty());
+    }
+
+    @Test
+    void confirmFresh_restartsTtlUnlessInvalidated() {
+        EmployeeSnapshot first = cache.get();
+        clock.advance(Duration.ofSeconds(20));
+        cache.confirmFresh();
+        clock.advance(Duration.ofSeconds(20));
+
+        assertSame(first, cache.get());
+        assertTrue(refreshTasks.isEmpty());
+
+        cache.invalidate();
+        cache.confirmFresh();
+        cache.get();
+        assertEquals(1, refreshTasks.size());
+    }
+
+    @Test
+    void confirmFresh_rebuildsSnapshotCarryingTooManyRemovedRows() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 3 * EmployeeSnapshotCache.MIN_REMOVED_TO_REBUILD; i++) {
+            roster.add(employee("id-" + i, "Employee " + i, i));
+        }
+        upstream.set(roster);
+        EmployeeSnapshot first = cache.get();
+        for (int i = 1; i < EmployeeSnapshotCache.MIN_REMOVED_TO_REBUILD; i++) {
+            cache.applyDeleted("id-" + i);
+        }
+
+        cache.confirmFresh();
+        clock.advance(Duration.ofSeconds(20));
+        cache.confirmFresh();
+        clock.advance(Duration.ofSeconds(20));
+        assertSame(first, cache.get());
+        assertTrue(refreshTasks.isEmpty());
+
+        cache.applyDeleted("id-0");
+        cache.confirmFresh();
+        assertSame(first, cache.get());
+        assertEquals(1, refreshTasks.size());
+        refreshTasks.poll().run();
+
+        EmployeeSnapshot rebuilt = cache.get();
+        assertNotSame(first, rebuilt);
+        assertEquals(0, rebuilt.removedCount());
+    }
+
+    @Test
+    void refresh_keepsSnapshotWhenRosterNotModified() {
+        List<String> sentTags = new ArrayList<>();
+        EmployeeSnapshotCache conditional = new EmployeeSnapshotCache(
+                etag -> {
+                    sentTags.add(etag);
+                    return etag == null ? new Roster(upstream.get(), "\"v1\"") : Roster.notModified(etag);
+                },
+                Duration.ofSeconds(30),
+                refreshTasks::add,
+                clock);
+
+        EmployeeSnapshot first = conditional.get();
+        long version = first.version();
+        clock.advance(Duration.ofSeconds(31));
+        conditional.get();
+        refreshTasks.poll().run();
+
+        assertSame(first, conditional.get());
+        assertEquals(version, first.version());
+        assertTrue(refreshTasks.isEmpty());
+        assertEquals(Arrays.asList(null, "\"v1\""), sentTags);
+    }
+
+    @Test
+    void bindTo_countsHitsStaleHitsAndMisses() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get();
+        cache.get();
+        clock.advance(Duration.ofSeconds(31));
+        cache.get();
+        cache.findById("1");
+        cache.findById("unknown");
+
+        assertEquals(1, requests(registry, "employee.cache.requests", "miss"));
+        assertEquals(1, requests(registry, "employee.cache.requests", "hit"));
+        assertEquals(1, requests(registry, "employee.cache.requests", "stale"));
+        assertEquals(1, requests(registry, "employee.cache.lookups", "hit"));
+        assertEquals(1, requests(registry, "employee.cache.lookups", "miss"));
+        assertEquals(1, registry.get("employee.cache.size").gauge().value());
+    }
+
+    private static double requests(SimpleMeterRegistry registry, String name, String result) {
+        return registry.get(name).tag("result", result).functionCounter().count();
+    }
+
+    private static List<String> names(EmployeeSnapshot snapshot) {
+        return snapshot.employees().stream().map(Employee::getEmployeeName).toList();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.reliaquest.api.cache;
+
+import static com.reliaquest.api.cache.EmployeeFixtures.employee;
+import static com.reliaquest.api.cache.EmployeeFixtures.snapshot;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotTest {
+
+    @Test
+    void topEarners_ordersBySalaryThenRosterOrder() {
+        EmployeeSnapshot snapshot = snapshot(
+                employee("1", "Dylan", 100000),
+                employee("2", "Carissa", 120000),
+                employee("3", "Tiger", 100000),
+                employee("4", "Bill", 90000));
+
+        assertEquals(List.of("Carissa", "Dylan", "Tiger"), names(snapshot.topEarners(3)));
+        assertEquals(List.of("Carissa", "Dylan", "Tiger", "Bill"), names(snapshot.topEarners(10)));
+        assertEquals(OptionalInt.of(120000), snapshot.highestSalary());
+    }
+
+    @Test
+    void topEarners_followsCreatesAndDeletes() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            roster.add(employee("id-" + i, "Employee " + i, 50000 + i * 1000));
+        }
+        EmployeeSnapshot snapshot = snapshot(roster);
+
+        assertEquals("Employee 24", snapshot.topEarners(10).get(0).getEmployeeName());
+        assertEquals("Employee 15", snapshot.topEarners(10).get(9).getEmployeeName());
+
+        snapshot.add(employee("new", "Newcomer", 200000));
+        assertEquals(OptionalInt.of(200000), snapshot.highestSalary());
+        assertEquals("Employee 16", snapshot.topEarners(10).get(9).getEmployeeName());
+
+        snapshot.remove("new");
+        snapshot.remove("id-24");
+        assertEquals(OptionalInt.of(73000), snapshot.highestSalary());
+        assertEquals("Employee 14", snapshot.topEarners(10).get(9).getEmployeeName());
+        assertEquals(12, snapshot.topEarners(12).size());
+    }
+
+    @Test
+    void topEarners_followsBurstsOfPatchesBetweenReads() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Employee> live = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            live.add(employee("seed-" + i, "Seed " + i, random.nextInt(1_000)));
+        }
+        EmployeeSnapshot snapshot = snapshot(live);
+        live = new ArrayList<>(live);
+
+        for (int burst : new int[] {1, 10, 5_000, 3}) {
+            for (int i = 0; i < burst; i++) {
+                Employee added = employee(UUID.randomUUID().toString(), "Added " + i, random.nextInt(1_000));
+                snapshot.add(added);
+                live.add(added);
+                if (random.nextInt(3) == 0) {
+                    Employee removed = live.remove(random.nextInt(live.size()));
+                    snapshot.remove(removed.getId());
+                }
+            }
+            List<Employee> expected = new ArrayList<>(live);
+            expected.sort(Comparator.comparing(Employee::getEmployeeSalary).reversed());
+
+            assertEquals(names(expected.subList(0, 100)), names(snapshot.topEarners(100)));
+            assertEquals(live.size(), snapshot.topEarners(Integer.MAX_VALUE).size());
+        }
+    }
+
+    @Test
+    void highestSalary_isEmptyForEmptyRoster() {
+        EmployeeSnapshot snapshot = snapshot();
+
+        assertTrue(snapshot.highestSalary().isEmpty());
+        assertTrue(snapshot.topEarners(10).isEmpty());
+    }
+
+    @Test
+    void searchByName_matchesSubstringsIgnoringCase() {
+        EmployeeSnapshot snapshot = snapshot(
+                employee("1", "Dylan Cann", 100000),
+                employee("2", "Carissa Beebe", 120000),
+                employee("3", "Tiger Nixon", 100000),
+                employee("4", "Annabel Cannon", 90000));
+
+        assertEquals(List.of("Dylan Cann", "Annabel Cannon"), names(snapshot.searchByName("CANN")));
+        assertEquals(List.of("Dylan Cann", "Carissa Beebe", "Annabel Cannon"), names(snapshot.searchByName("ca")));
+        assertEquals(List.of("Tiger Nixon"), names(snapshot.searchByName("r nix")));
+        assertTrue(snapshot.searchByName("nnac").isEmpty());
+        assertEquals(4, snapshot.searchByName("").size());
+    }
+
+    @Test
+    void searchByName_followsCreatesAndDeletes() {
+        EmployeeSnapshot snapshot = snapshot(employee("1", "Dylan Cann", 100000));
+
+        snapshot.add(employee("2", "Candice Cann", 80000));
+        assertEquals(List.of("Dylan Cann", "Candice Cann"), names(snapshot.searchByName("cann")));
+
+        snapshot.remove("1");
+        assertEquals(List.of("Candice Cann"), names(snapshot.searchByName("cann")));
+        assertTrue(snapshot.searchByName("dylan").isEmpty());
+    }
+
+    @Test
+    void employees_restoresEveryFieldExactly() {
+        List<Employee> roster = List.of(
+                new Employee(
+                        "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507",
+                        "Tiger Nixon",
+                        320800,
+                        61,
+                        "Vice Chair",
+                        "tnixon@company.com"),
+                new Employee("4A3A170B-22CD-4AC2-AAD1-9BB5B34A1507", "Zo\u00eb \u00dcnal", null, null, null, "no-domain"),
+                new Employee("id-3", null, 0, 16, "Vice Chair", "a@b@company.com"),
+                new Employee(null, "", -1, 75, "", null));
+
+        EmployeeSnapshot snapshot = snapshot(roster);
+
+        assertEquals(roster, snapshot.employees());
+        assertEquals(roster.get(1), snapshot.findById("4A3A170B-22CD-4AC2-AAD1-9BB5B34A1507").orElseThrow());
+        assertEquals(roster.get(2), snapshot.findById("id-3").orElseThrow());
+        assertTrue(snapshot.findById("4a3a170b-22cd-4ac2-aad1-9bb5b34a1508").isEmpty());
+        assertTrue(snapshot.findById(null).isEmpty());
+    }
+
+    @Test
+    void employees_isEncodedOncePerVersion() throws Exception {
+        EmployeeSnapshot snapshot = snapshot(employee("1", "Dylan", 100000), employee("2", "Carissa", 120000));
+        AtomicInteger encodings = new AtomicInteger();
+        EncodedList.Encoder<List<Employee>> encoder = employees -> {
+            encodings.incrementAndGet();
+            return String.join(",", names(employees)).getBytes(StandardCharsets.UTF_8);
+        };
+
+        EncodedList.Encoded first = ((EncodedList<Employee>) snapshot.employees()).encode(encoder);
+        assertSame(first, ((EncodedList<Employee>) snapshot.employees()).encode(encoder));
+        assertEquals(1, encodings.get());
+        try (InputStream gunzipped = new GZIPInputStream(new ByteArrayInputStream(first.gzipped()))) {
+            assertArrayEquals(first.bytes(), gunzipped.readAllBytes());
+        }
+        assertSame(first.gzipped(), first.gzipped());
+
+        snapshot.add(employee("3", "Tiger", 90000));
+
+        EncodedList.Encoded changed = ((EncodedList<Employee>) snapshot.employees()).encode(encoder);
+        assertEquals("Dylan,Carissa,Tiger", new String(changed.bytes(), StandardCharsets.UTF_8));
+        assertEquals(2, encodings.get());
+    }
+
+    @Test
+    void findById_followsCreatesAndDeletesPastTheInitialCapacity() {
+        EmployeeSnapshot snapshot = snapshot(employee("1", "Dylan Cann", 100000));
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(snapshot.add(employee(new UUID(7, i).toString(), "Employee " + i, i)));
+        }
+        for (int i = 0; i < 1_000; i += 2) {
+            assertTrue(snapshot.remove(new UUID(7, i).toString()).isPresent());
+        }
+        assertTrue(snapshot.add(employee(new UUID(7, 0).toString(), "Returning", 5)));
+
+        assertEquals(502, snapshot.size());
+        assertEquals("Returning", snapshot.findById(new UUID(7, 0).toString()).orElseThrow().getEmployeeName());
+        assertEquals("Employee 999", snapshot.findById(new UUID(7, 999).toString()).orElseThrow().getEmployeeName());
+        assertTrue(snapshot.findById(new UUID(7, 998).toString()).isEmpty());
+        assertEquals("Dylan Cann", snapshot.findById("1").orElseThrow().getEmployeeName());
+        assertEquals(List.of("Dylan Cann", "Employee 999"), names(snapshot.topEarners(2)));
+    }
+
+    @Test
+    void searchByName_foldsNonAsciiNames() {
+        EmployeeSnapshot snapshot = snapshot(
+                employee("1", "Zo\u00eb \u00dcnal", 100000), employee("2", "Zoe Unal", 100000), employee("3", "\u00d6ZIL", 1));
+
+        assertEquals(List.of("Zo\u00eb \u00dcnal"), names(snapshot.searchByName("\u00dcN")));
+        assertEquals(List.of("Zoe Unal"), names(snapshot.searchByName("oe u")));
+        assertEquals(List.of("\u00d6ZIL"), names(snapshot.searchByName("\u00f6zi")));
+        assertEquals(List.of("Zo\u00eb \u00dcnal", "Zoe Unal", "\u00d6ZIL"), names(snapshot.searchByName("z")));
+    }
+
+    @Test
+    void forEach_visitsLiveRowsInRosterOrder() {
+        EmployeeSnapshot snapshot = snapshot(
+                employee("1", "Dylan Cann", 100000),
+                employee("2", "Carissa Beebe", 120000),
+                new Employee("3", "Tiger Nixon", null, null, "Chair", "tnixon@company.com"));
+        snapshot.remove("2");
+        List<String> visited = new ArrayList<>();
+
+        snapshot.forEach(view -> visited.add(view.name() + ":" + view.title() + ":" + view.email()));
+        List<Integer> salaries = new ArrayList<>();
+        snapshot.forEach(view -> salaries.add(view.hasSalary() ? view.salary() : null));
+
+        assertEquals(List.of("Dylan Cann:Developer:null", "Tiger Nixon:Chair:tnixon@company.com"), visited);
+        assertEquals(Arrays.asList(100000, null), salaries);
+    }
+
+    @Test
+    void uniqueName_withholdsNamesSharedIgnoringCase() {
+        EmployeeSnapshot snapshot = snapshot(
+                employee("1", "Dylan Cann", 100000),
+                employee("2", "dylan cann", 100000),
+                employee("3", "Carissa Beebe", 120000));
+
+        assertEquals(Optional.empty(), snapshot.uniqueName("1"));
+        assertEquals(Optional.of("Carissa Beebe"), snapshot.uniqueName("3"));
+        assertEquals(Optional.empty(), snapshot.uniqueName("4"));
+
+        snapshot.remove("2");
+        snapshot.add(employee("4", "CARISSA BEEBE", 1));
+
+        assertEquals(Optional.of("Dylan Cann"), snapshot.uniqueName("1"));
+        assertEquals(Optional.empty(), snapshot.uniqueName("3"));
+    }
+
+    @Test
+    void uniqueName_countsNamesakesPastTheInitialCapacity() {
+        EmployeeSnapshot snapshot = snapshot();
+        for (int i = 0; i < 1_000; i++) {
+            snapshot.add(employee(Integer.toString(i), "Employee " + i % 400, i));
+        }
+        for (int i = 400; i < 1_000; i++) {
+            snapshot.remove(Integer.toString(i));
+        }
+
+        for (int i = 0; i < 400; i++) {
+            assertEquals(Optional.of("Employee " + i), snapshot.uniqueName(Integer.toString(i)));
+        }
+        snapshot.add(employee("1000", "employee 7", 1));
+        assertEquals(Optional.empty(), snapshot.uniqueName("7"));
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getEmployeeName).toList();
+    }
+}
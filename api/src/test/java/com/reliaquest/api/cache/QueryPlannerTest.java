@@ -0,0 +1,143 @@
+package com.reliaquest.api.cache;
+
+import static com.reliaquest.api.cache.EmployeeFixtures.snapshot;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeQuery;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class QueryPlannerTest {
+
+    private static final String[] TITLES = {"Developer", "Manager", "Designer", "Vice Chair"};
+    private static final String[] SORTS = {null, "salary", "-salary", "age", "-age", "name", "-name"};
+
+    @Test
+    void query_filtersSortsAndPages() {
+        EmployeeSnapshot snapshot = snapshot(
+                new Employee("1", "Dylan Cann", 100000, 30, "Developer", null),
+                new Employee("2", "carissa Beebe", 120000, 28, "Lead", null),
+                new Employee("3", "Ann Canning", 120000, 41, "Developer", null),
+                new Employee("4", "No Salary", null, 52, "Developer", null),
+                new Employee("5", null, 90000, null, null, null));
+
+        assertEquals(List.of("2", "3", "1", "5", "4"), ids(snapshot.query(query(q -> q.setSort("-salary")))));
+        assertEquals(List.of("3", "2", "1", "4", "5"), ids(snapshot.query(query(q -> q.setSort("name")))));
+        assertEquals(List.of("2", "1", "3", "4", "5"), ids(snapshot.query(query(q -> q.setSort("age")))));
+        assertEquals(List.of("3", "4"), ids(snapshot.query(query(q -> q.setMinAge(40)))));
+        assertEquals(
+                List.of("1", "3"),
+                ids(snapshot.query(query(q -> {
+                    q.setTitle(List.of("Developer", "Unknown"));
+                    q.setMaxSalary(120000);
+                }))));
+        assertEquals(
+                List.of("3"),
+                ids(snapshot.query(query(q -> {
+                    q.setSort("-salary");
+                    q.setOffset(1);
+                    q.setLimit(1);
+                }))));
+        assertEquals(List.of(), snapshot.query(query(q -> q.setLimit(0))));
+    }
+
+    @Test
+    void query_followsCreatesAndDeletes() {
+        EmployeeSnapshot snapshot = snapshot(new Employee("1", "Dylan Cann", 100000, 30, "Developer", null));
+
+        snapshot.add(new Employee("2", "Carissa Beebe", 150000, 35, "Developer", null));
+        assertEquals(List.of("2", "1"), ids(snapshot.query(query(q -> q.setSort("-salary")))));
+
+        snapshot.remove("2");
+        assertEquals(List.of("1"), ids(snapshot.query(query(q -> q.setTitle(List.of("Developer"))))));
+        assertEquals(List.of(), snapshot.query(query(q -> q.setMinSalary(120000))));
+    }
+
+    @Test
+    void query_matchesAFullScanForRandomQueries() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            roster.add(employee(random, i));
+        }
+        EmployeeSnapshot snapshot = snapshot(roster);
+        for (int i = 0; i < 500; i++) {
+            snapshot.remove("id-" + random.nextInt(roster.size()));
+            snapshot.add(employee(random, roster.size() + i));
+        }
+        List<Employee> live = snapshot.employees();
+
+        for (int i = 0; i < 2_000; i++) {
+            EmployeeQuery query = randomQuery(random);
+
+            assertEquals(ids(fullScan(live, query)), ids(snapshot.query(query)), query::toString);
+        }
+    }
+
+    private static Employee employee(SplittableRandom random, int i) {
+        return new Employee(
+                "id-" + i,
+                random.nextInt(20) == 0 ? null : "Employee " + random.nextInt(1_000),
+                random.nextInt(20) == 0 ? null : random.nextInt(30, 60) * 1_000,
+                random.nextInt(20) == 0 ? null : random.nextInt(18, 70),
+                random.nextInt(20) == 0 ? null : TITLES[random.nextInt(TITLES.length)],
+                null);
+    }
+
+    private static EmployeeQuery randomQuery(SplittableRandom random) {
+        EmployeeQuery query = new EmployeeQuery();
+        if (random.nextBoolean()) {
+            int min = random.nextInt(25, 65) * 1_000;
+            query.setMinSalary(random.nextBoolean() ? min : null);
+            query.setMaxSalary(min + random.nextInt(0, 20) * 1_000);
+        }
+        if (random.nextBoolean()) {
+            int min = random.nextInt(15, 75);
+            query.setMinAge(min);
+            query.setMaxAge(random.nextBoolean() ? min + random.nextInt(0, 10) : null);
+        }
+        if (random.nextInt(3) == 0) {
+            query.setTitle(List.of(TITLES[random.nextInt(TITLES.length)], TITLES[random.nextInt(TITLES.length)]));
+        }
+        query.setSort(SORTS[random.nextInt(SORTS.length)]);
+        query.setOffset(random.nextBoolean() ? 0 : random.nextInt(200));
+        query.setLimit(random.nextInt(1, EmployeeQuery.MAX_LIMIT + 1));
+        return query;
+    }
+
+    private static List<Employee> fullScan(List<Employee> roster, EmployeeQuery query) {
+        Stream<Employee> matches = roster.stream()
+                .filter(employee -> query.salaryMatches(employee.getEmployeeSalary())
+                        && query.ageMatches(employee.getEmployeeAge())
+                        && query.titleMatches(employee.getEmployeeTitle()));
+        if (query.sortKey() != null) {
+            matches = matches.sorted(switch (query.sortKey()) {
+                case SALARY -> by(Employee::getEmployeeSalary, Comparator.naturalOrder(), query.descending());
+                case AGE -> by(Employee::getEmployeeAge, Comparator.naturalOrder(), query.descending());
+                case NAME -> by(Employee::getEmployeeName, String.CASE_INSENSITIVE_ORDER, query.descending());
+            });
+        }
+        return matches.skip(query.getOffset()).limit(query.getLimit()).toList();
+    }
+
+    private static <T> Comparator<Employee> by(Function<Employee, T> field, Comparator<T> order, boolean descending) {
+        return Comparator.comparing(field, Comparator.nullsLast(descending ? order.reversed() : order));
+    }
+
+    private static EmployeeQuery query(Consumer<EmployeeQuery> filters) {
+        EmployeeQuery query = new EmployeeQuery();
+        filters.accept(query);
+        return query;
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+}
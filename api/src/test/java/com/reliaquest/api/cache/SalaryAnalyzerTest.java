@@ -0,0 +1,143 @@
+package com.reliaquest.api.cache;
+
+import static com.reliaquest.api.cache.EmployeeFixtures.employee;
+import static com.reliaquest.api.cache.EmployeeFixtures.snapshot;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.SalaryAnalytics;
+import com.reliaquest.api.model.SalaryStatistics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class SalaryAnalyzerTest {
+
+    @Test
+    void salaryAnalytics_groupsByTitleAndAgeBand() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            roster.add(new Employee("d-" + i, "Developer " + i, i * 1000, 20 + i % 10, "Developer", null));
+        }
+        roster.add(new Employee("m-1", "Manager", 150000, 45, "Manager", null));
+        roster.add(new Employee("m-2", "Veteran", 90000, 172, "Manager", null));
+        roster.add(new Employee("x-1", "Unpaid", null, 30, "Manager", null));
+        roster.add(new Employee("x-2", "Nobody", 40000, null, null, null));
+
+        SalaryAnalytics analytics = snapshot(roster).salaryAnalytics();
+
+        assertEquals(104, analytics.getEmployees());
+        assertEquals(List.of("Developer", "Manager", "unknown"), List.copyOf(analytics.getByTitle().keySet()));
+        assertEquals(
+                new SalaryStatistics(100, 1000, 100000, 50500.0, 50000, 90000, 99000),
+                analytics.getByTitle().get("Developer"));
+        assertEquals(
+                new SalaryStatistics(2, 90000, 150000, 120000.0, 90000, 150000, 150000),
+                analytics.getByTitle().get("Manager"));
+        assertEquals(
+                new SalaryStatistics(1, 40000, 40000, 40000.0, 40000, 40000, 40000),
+                analytics.getByTitle().get("unknown"));
+        assertEquals(List.of("20-29", "40-49", "150+", "unknown"), List.copyOf(analytics.getByAgeBand().keySet()));
+        assertEquals(100, analytics.getByAgeBand().get("20-29").getCount());
+    }
+
+    @Test
+    void salaryAnalytics_foldsLargeRostersInParallelToTheSameResult() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] titles = {"Developer", "Manager", "Designer", "Vice Chair"};
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < SalaryAnalyzer.PARALLEL_THRESHOLD * 3; i++) {
+            roster.add(new Employee(
+                    "id-" + i,
+                    "Employee " + i,
+                    random.nextInt(10, 500_000),
+                    random.nextInt(16, 80),
+                    titles[random.nextInt(titles.length)],
+                    null));
+        }
+        EmployeeSnapshot snapshot = snapshot(roster);
+        for (int i = 0; i < roster.size(); i += 7) {
+            snapshot.remove("id-" + i);
+        }
+
+        SalaryAnalytics analytics = snapshot.salaryAnalytics();
+
+        List<Employee> live = snapshot.employees();
+        assertEquals(live.size(), analytics.getEmployees());
+        for (String title : titles) {
+            int[] salaries = live.stream()
+                    .filter(employee -> title.equals(employee.getEmployeeTitle()))
+                    .mapToInt(Employee::getEmployeeSalary)
+                    .sorted()
+                    .toArray();
+            assertEquals(expected(salaries), analytics.getByTitle().get(title), title);
+        }
+        assertEquals(
+                live.size(),
+                analytics.getByAgeBand().values().stream()
+                        .mapToInt(SalaryStatistics::getCount)
+                        .sum());
+    }
+
+    @Test
+    void salaryAnalytics_isKeptUntilTheSnapshotChanges() {
+        EmployeeSnapshot snapshot = snapshot(new Employee("1", "Dylan Cann", 100000, 30, "Developer", null));
+
+        SalaryAnalytics first = snapshot.salaryAnalytics();
+        assertSame(first, snapshot.salaryAnalytics());
+
+        snapshot.add(employee("2", "Carissa Beebe", 120000));
+        SalaryAnalytics second = snapshot.salaryAnalytics();
+        assertNotSame(first, second);
+        assertEquals(2, second.getByTitle().get("Developer").getCount());
+
+        snapshot.remove("1");
+        assertEquals(
+                Map.of("Developer", new SalaryStatistics(1, 120000, 120000, 120000.0, 120000, 120000, 120000)),
+                snapshot.salaryAnalytics().getByTitle());
+    }
+
+    @Test
+    void incremental_matchesTheSnapshot() {
+        SplittableRandom random = new SplittableRandom(7);
+        String[] titles = {"Developer", "Manager", "", null};
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            roster.add(new Employee(
+                    "id-" + i,
+                    "Employee " + i,
+                    random.nextInt(10) == 0 ? null : random.nextInt(10, 500_000),
+                    random.nextInt(10) == 0 ? null : random.nextInt(-5, 200),
+                    titles[random.nextInt(titles.length)],
+                    null));
+        }
+        SalaryAnalyzer.Incremental incremental = new SalaryAnalyzer.Incremental();
+        for (Employee employee : roster) {
+            if (employee.getEmployeeSalary() != null) {
+                incremental.add(employee.getEmployeeSalary(), employee.getEmployeeAge(), employee.getEmployeeTitle());
+            } else {
+                incremental.addUnpaid();
+            }
+        }
+
+        assertEquals(snapshot(roster).salaryAnalytics(), incremental.analytics());
+    }
+
+    private static SalaryStatistics expected(int[] sorted) {
+        return new SalaryStatistics(
+                sorted.length,
+                sorted[0],
+                sorted[sorted.length - 1],
+                Arrays.stream(sorted).asLongStream().sum() / (double) sorted.length,
+                nearestRank(sorted, 50),
+                nearestRank(sorted, 90),
+                nearestRank(sorted, 99));
+    }
+
+    private static int nearestRank(int[] sorted, int percentile) {
+        return sorted[(int) Math.ceil(percentile / 100.0 * sorted.length) - 1];
+    }
+}
@@ -0,0 +1,101 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EmployeeChangeFeedTest {
+
+    private static final String STREAM =
+            """
+            event:reset
+            id:e1-3
+            data:3
+
+            : comment lines are ignored
+            event:change
+            id:e1-4
+            data:{"sequence":4,"op":"CREATED","employee":{"id":"a","employee_name":"Dylan Cann",
+            data:"employee_salary":100000,"employee_age":30,"employee_title":"Developer","employee_email":null}}
+
+            event: heartbeat
+            data: 4
+
+            event:change
+            id:e1-5
+            data:{"sequence":5,"op":"DELETED","employee":{"id":"a","employee_name":"Dylan Cann"}}
+
+            event:unknown
+            data:ignored
+
+            """;
+
+    private final EmployeeChangeFeed feed = new EmployeeChangeFeed(null, new ObjectMapper(), Duration.ZERO);
+
+    @Test
+    void read_dispatchesEventsInOrderAndTracksLastEventId() throws IOException {
+        RecordingListener listener = new RecordingListener();
+
+        feed.read(body(STREAM), listener);
+
+        assertEquals(
+                List.of(
+                        "resynchronize",
+                        "created a Dylan Cann 100000",
+                        "caughtUp",
+                        "caughtUp",
+                        "deleted a",
+                        "caughtUp"),
+                listener.calls);
+        assertEquals("e1-5", feed.lastEventId());
+    }
+
+    @Test
+    void read_keepsLastEventIdOfTheLastCompleteEvent() throws IOException {
+        RecordingListener listener = new RecordingListener();
+
+        feed.read(body("event:heartbeat\nid:e1-7\ndata:7\n\nevent:change\nid:e1-8\ndata:{\"seq"), listener);
+
+        assertEquals(List.of("caughtUp"), listener.calls);
+        assertEquals("e1-7", feed.lastEventId());
+    }
+
+    private static InputStream body(String stream) {
+        return new ByteArrayInputStream(stream.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class RecordingListener implements EmployeeChangeFeed.Listener {
+
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void resynchronize() {
+            calls.add("resynchronize");
+        }
+
+        @Override
+        public void created(Employee employee) {
+            calls.add("created " + employee.getId() + " " + employee.getEmployeeName() + " "
+                    + employee.getEmployeeSalary());
+        }
+
+        @Override
+        public void deleted(String id) {
+            calls.add("deleted " + id);
+        }
+
+        @Override
+        public void caughtUp() {
+            calls.add("caughtUp");
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeQuery;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EmployeeStreamReaderTest {
+
+    private static final String RESPONSE =
+            """
+            {"status": "Successfully processed request.", "data": [
+              {"id": "1", "employee_name": "Dylan Cann", "employee_salary": 100000, "employee_age": 30,
+               "employee_title": "Developer", "employee_email": "dylan@company.com"},
+              {"id": "2", "employee_name": "Carissa Beebe", "employee_salary": 120000, "employee_age": 28,
+               "employee_title": "Lead", "employee_email": null, "extra": {"nested": [1, 2]}},
+              {"id": "3", "employee_name": "Ann Canning", "employee_salary": 120000, "employee_age": 41},
+              {"id": "4", "employee_name": "No Salary"}
+            ]}
+            """;
+
+    private final EmployeeStreamReader reader = new EmployeeStreamReader();
+
+    @Test
+    void highestSalary_readsOnlySalaries() throws IOException {
+        int highest = reader.read(body(RESPONSE), EmployeeAggregates.highestSalary());
+
+        assertEquals(120000, highest);
+    }
+
+    @Test
+    void highestSalary_isZeroForEmptyRoster() throws IOException {
+        int highest = reader.read(body("{\"data\": [], \"status\": \"ok\"}"), EmployeeAggregates.highestSalary());
+
+        assertEquals(0, highest);
+    }
+
+    @Test
+    void topEarnerNames_ordersBySalaryThenRosterOrder() throws IOException {
+        assertEquals(
+                List.of("Carissa Beebe", "Ann Canning"),
+                reader.read(body(RESPONSE), EmployeeAggregates.topEarnerNames(2)));
+        assertEquals(
+                List.of("Carissa Beebe", "Ann Canning", "Dylan Cann"),
+                reader.read(body(RESPONSE), EmployeeAggregates.topEarnerNames(10)));
+    }
+
+    @Test
+    void nameContains_materializesOnlyMatches() throws IOException {
+        List<Employee> matches = reader.read(body(RESPONSE), EmployeeAggregates.nameContains("CAN"));
+
+        assertEquals(List.of("1", "3"), matches.stream().map(Employee::getId).toList());
+        assertEquals(new Employee("1", "Dylan Cann", 100000, 30, "Developer", "dylan@company.com"), matches.get(0));
+        assertNull(matches.get(1).getEmployeeTitle());
+    }
+
+    @Test
+    void query_filtersSortsAndPages() throws IOException {
+        EmployeeQuery bySalary = new EmployeeQuery();
+        bySalary.setMinSalary(100000);
+        bySalary.setSort("-salary");
+        EmployeeQuery byTitle = new EmployeeQuery();
+        byTitle.setTitle(List.of("Developer", "Lead"));
+        EmployeeQuery byAge = new EmployeeQuery();
+        byAge.setSort("age");
+
+        assertEquals(List.of("2", "3", "1"), ids(reader.read(body(RESPONSE), EmployeeAggregates.query(bySalary))));
+        assertEquals(List.of("1", "2"), ids(reader.read(body(RESPONSE), EmployeeAggregates.query(byTitle))));
+        assertEquals(
+                List.of("2", "1", "3", "4"), ids(reader.read(body(RESPONSE), EmployeeAggregates.query(byAge))));
+
+        bySalary.setOffset(1);
+        bySalary.setLimit(1);
+        assertEquals(List.of("3"), ids(reader.read(body(RESPONSE), EmployeeAggregates.query(bySalary))));
+    }
+
+    @Test
+    void readPage_returnsNextCursorAndKeepsAggregating() throws IOException {
+        EmployeeAggregate<List<String>> top = EmployeeAggregates.topEarnerNames(2);
+
+        Long next = reader.readPage(
+                body("{\"data\": [{\"employee_name\": \"Dylan Cann\", \"employee_salary\": 100000}],"
+                        + " \"status\": \"ok\", \"next_cursor\": 7}"),
+                top);
+        Long last = reader.readPage(
+                body("{\"data\": [{\"employee_name\": \"Carissa Beebe\", \"employee_salary\": 120000}]}"), top);
+
+        assertEquals(7L, next);
+        assertNull(last);
+        assertEquals(List.of("Carissa Beebe", "Dylan Cann"), top.result());
+    }
+
+    @Test
+    void readNdjson_readsOneEmployeePerLine() throws IOException {
+        String ndjson = "{\"id\": \"1\", \"employee_name\": \"Dylan Cann\", \"employee_salary\": 100000}\n"
+                + "{\"id\": \"2\", \"employee_name\": \"Carissa Beebe\", \"employee_salary\": 120000}\n";
+
+        List<Employee> employees = reader.readNdjson(body(ndjson), EmployeeAggregates.employees());
+
+        assertEquals(List.of("Dylan Cann", "Carissa Beebe"), employees.stream().map(Employee::getEmployeeName).toList());
+        assertEquals(120000, employees.get(1).getEmployeeSalary());
+    }
+
+    @Test
+    void read_rejectsTruncatedResponse() {
+        assertThrows(
+                JsonParseException.class,
+                () -> reader.read(body("{\"data\": [{\"id\": \"1\"}"), EmployeeAggregates.highestSalary()));
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,101 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+class ReactiveEmployeeClientTest {
+
+    private final Queue<ClientResponse> responses = new ArrayDeque<>();
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    private ReactiveEmployeeClient employeeClient;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(responses.remove());
+                })
+                .build();
+        employeeClient = new ReactiveEmployeeClient(
+                webClient,
+                new UpstreamRateLimiter(100, Duration.ofSeconds(1), Duration.ofSeconds(1)),
+                new SimpleMeterRegistry(),
+                Duration.ofSeconds(5),
+                2);
+    }
+
+    @Test
+    void aggregateEmployees_foldsNdjsonStream() {
+        responses.add(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .body("""
+                        {"id":"1","employee_name":"Dylan Cann","employee_salary":100000}
+                        {"id":"2","employee_name":"Carissa Beebe","employee_salary":120000}
+                        {"id":"3","employee_name":"John Doe"}
+                        """)
+                .build());
+
+        Integer highest = employeeClient.aggregateEmployees(EmployeeAggregates::highestSalary).block();
+
+        assertEquals(120000, highest);
+        assertEquals(EmployeeClient.BASE_URL + "/stream", requests.get(0).url().toString());
+    }
+
+    @Test
+    void createEmployee_retriesWhenThrottled() {
+        responses.add(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "0")
+                .build());
+        responses.add(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"data\":{\"id\":\"1\",\"employee_name\":\"Dylan Cann\"},\"status\":\"ok\"}")
+                .build());
+
+        ApiResponse<Employee> created = employeeClient.createEmployee(new CreateEmployeeInput()).block();
+
+        assertNotNull(created);
+        assertEquals("Dylan Cann", created.getData().getEmployeeName());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void createEmployee_givesUpWhenThrottledRepeatedly() {
+        for (int i = 0; i < 2; i++) {
+            responses.add(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "0")
+                    .build());
+        }
+
+        Mono<ApiResponse<Employee>> created = employeeClient.createEmployee(new CreateEmployeeInput());
+
+        assertThrows(UpstreamThrottledException.class, created::block);
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void getEmployeeById_isEmptyWhenNotFound() {
+        responses.add(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+
+        assertNull(employeeClient.getEmployeeById("missing").block());
+    }
+}
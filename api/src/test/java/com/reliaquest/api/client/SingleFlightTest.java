@@ -0,0 +1,70 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String> singleFlight = new SingleFlight<>("test", new SimpleMeterRegistry());
+
+    @Test
+    void execute_sharesInFlightResultWithConcurrentCallers() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("employees", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "result";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> follower =
+                CompletableFuture.supplyAsync(() -> singleFlight.execute("employees", () -> {
+                    calls.incrementAndGet();
+                    return "other";
+                }));
+        while (singleFlight.coalescedCount() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.executedCount());
+        assertEquals(1, singleFlight.coalescedCount());
+    }
+
+    @Test
+    void execute_releasesKeyAfterCompletion() {
+        assertEquals("first", singleFlight.execute("employees", () -> "first"));
+        assertEquals("second", singleFlight.execute("employees", () -> "second"));
+        assertEquals(2, singleFlight.executedCount());
+        assertEquals(0, singleFlight.coalescedCount());
+    }
+
+    @Test
+    void execute_propagatesFailureAndReleasesKey() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("employees", () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+        assertEquals("recovered", singleFlight.execute("employees", () -> "recovered"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
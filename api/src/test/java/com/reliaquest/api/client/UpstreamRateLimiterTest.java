@@ -0,0 +1,78 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.client.UpstreamRateLimiter.Priority;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class UpstreamRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final UpstreamRateLimiter rateLimiter =
+            new UpstreamRateLimiter(3, Duration.ofSeconds(30), Duration.ofMinutes(2), nanos::get);
+
+    @Test
+    void acquire_handsOutInitialBudgetThenWaitsForWindow() {
+        assertTrue(take());
+        assertTrue(take());
+        assertTrue(take());
+        assertFalse(take());
+
+        advance(Duration.ofSeconds(30));
+        assertTrue(take());
+    }
+
+    @Test
+    void acquire_probesOneHigherAfterUnthrottledCycle() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(take());
+            rateLimiter.onAccepted();
+        }
+        advance(Duration.ofSeconds(30));
+
+        assertEquals(4, rateLimiter.budget().permits());
+    }
+
+    @Test
+    void onThrottled_learnsLimitAndBlocksUntilCoolDown() {
+        advance(Duration.ofSeconds(1));
+        assertTrue(take());
+        rateLimiter.onAccepted();
+        assertTrue(take());
+        rateLimiter.onThrottled(null);
+
+        assertEquals(1, rateLimiter.budget().limit());
+        assertEquals(Duration.ofSeconds(30), rateLimiter.budget().blockedFor());
+        assertFalse(take());
+
+        advance(Duration.ofSeconds(30));
+        assertTrue(take());
+        rateLimiter.onThrottled(null);
+        assertEquals(Duration.ofSeconds(45), rateLimiter.budget().window());
+
+        advance(Duration.ofSeconds(45));
+        assertTrue(take());
+        rateLimiter.onAccepted();
+        assertEquals(Duration.ofSeconds(75), rateLimiter.budget().window());
+    }
+
+    @Test
+    void onThrottled_honoursRetryAfter() {
+        assertTrue(take());
+        rateLimiter.onThrottled(Duration.ofSeconds(5));
+
+        assertEquals(Duration.ofSeconds(5), rateLimiter.budget().blockedFor());
+        advance(Duration.ofSeconds(5));
+        assertTrue(take());
+    }
+
+    private boolean take() {
+        return rateLimiter.acquire(Priority.WRITE, Duration.ZERO);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class EncodedListHttpMessageConverterTest {
+
+    @Test
+    void acceptsGzip_whenListedOrCoveredByAnyEncoding() {
+        assertTrue(acceptsGzip("gzip"));
+        assertTrue(acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(acceptsGzip("br, *"));
+        assertTrue(acceptsGzip("br;q=1, * ; q=0.1"));
+    }
+
+    @Test
+    void acceptsGzip_notWhenRefusedOrMissing() {
+        assertFalse(acceptsGzip(null));
+        assertFalse(acceptsGzip("identity"));
+        assertFalse(acceptsGzip("gzip;q=0"));
+        assertFalse(acceptsGzip("*;q=0"));
+        assertFalse(acceptsGzip("gzip;q=oops"));
+        assertFalse(EncodedListHttpMessageConverter.acceptsGzip(null));
+    }
+
+    @Test
+    void acceptsGzip_letsAListedGzipTakePrecedenceOverAnyEncoding() {
+        assertFalse(acceptsGzip("gzip;q=0, *"));
+        assertFalse(acceptsGzip("*, gzip;q=0"));
+        assertTrue(acceptsGzip("*;q=0, gzip"));
+        assertTrue(acceptsGzip("gzip;q=0.2, *;q=0"));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return EncodedListHttpMessageConverter.acceptsGzip(request);
+    }
+}
@@ -1,20 +1,34 @@
 package com.reliaquest.api.controller;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeSnapshot;
 import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.CreateEmployeeResult;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.SalaryAnalytics;
+import com.reliaquest.api.model.SalaryStatistics;
 import com.reliaquest.api.service.EmployeeService;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -47,6 +61,40 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$[1].employee_name").value("Carissa"));
     }
 
+    @Test
+    void getAllEmployees_writesCachedSnapshotFromEncodedBytes() throws Exception {
+        Employee emp1 = new Employee();
+        emp1.setEmployeeName("Dylan");
+        Employee emp2 = new Employee();
+        emp2.setEmployeeName("Carissa");
+        List<Employee> cached = new EmployeeSnapshot(List.of(emp1, emp2), new AtomicLong()).employees();
+        when(employeeService.getAllEmployees()).thenReturn(cached);
+
+        byte[] plain = mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(jsonPath("$[1].employee_name").value("Carissa"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        assertArrayEquals(objectMapper.writeValueAsBytes(List.of(emp1, emp2)), plain);
+
+        byte[] gzipped = mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertArrayEquals(plain, in.readAllBytes());
+        }
+
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
     @Test
     void getAllEmployees_returnsNotFoundWhenEmpty() throws Exception {
         when(employeeService.getAllEmployees()).thenReturn(List.of());
@@ -102,6 +150,28 @@ public class EmployeeControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    void createEmployees_returnsOkWithPerEntryResults() throws Exception {
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName("Dylan Cann");
+
+        Employee created = new Employee();
+        created.setEmployeeName("Dylan Cann");
+
+        when(employeeService.createEmployees(any()))
+                .thenReturn(List.of(
+                        new CreateEmployeeResult(0, created, null),
+                        new CreateEmployeeResult(1, null, List.of("name must not be blank"))));
+
+        mockMvc.perform(post("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(input, new CreateEmployeeInput()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].employee.employee_name").value("Dylan Cann"))
+                .andExpect(jsonPath("$[1].errors[0]").value("name must not be blank"));
+    }
+
     @Test
     void deleteEmployeeById_returnsOkWhenDeleted() throws Exception {
         when(employeeService.deleteEmployeeById("123")).thenReturn("Dylan Cann");
@@ -117,4 +187,41 @@ public class EmployeeControllerTest {
 
         mockMvc.perform(delete("/api/v1/employee/123")).andExpect(status().isNotFound());
     }
+
+    @Test
+    void getEmployeesByQuery_bindsFiltersFromQueryString() throws Exception {
+        Employee emp = new Employee();
+        emp.setEmployeeName("Dylan");
+        when(employeeService.getEmployeesByQuery(argThat((EmployeeQuery query) -> query.getMinSalary() == 100000
+                        && query.getTitle().equals(List.of("Developer", "Lead"))
+                        && query.sortKey() == EmployeeQuery.SortKey.AGE
+                        && query.descending()
+                        && query.getLimit() == EmployeeQuery.DEFAULT_LIMIT)))
+                .thenReturn(List.of(emp));
+
+        mockMvc.perform(get("/api/v1/employee/query?minSalary=100000&title=Developer&title=Lead&sort=-age"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].employee_name").value("Dylan"));
+    }
+
+    @Test
+    void getEmployeesByQuery_returnsBadRequestForMalformedQuery() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/query?minAge=50&maxAge=40")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/employee/query?sort=email")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/employee/query?limit=" + (EmployeeQuery.MAX_LIMIT + 1)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getSalaryAnalytics_returnsOkWithStatisticsPerGroup() throws Exception {
+        SalaryStatistics developers = new SalaryStatistics(2, 90000, 110000, 100000.0, 90000, 110000, 110000);
+        when(employeeService.getSalaryAnalytics())
+                .thenReturn(new SalaryAnalytics(2, Map.of("Developer", developers), Map.of("20-29", developers)));
+
+        mockMvc.perform(get("/api/v1/employee/salaryAnalytics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees").value(2))
+                .andExpect(jsonPath("$.by_title.Developer.p90").value(110000))
+                .andExpect(jsonPath("$.by_age_band['20-29'].mean").value(100000.0));
+    }
 }
@@ -3,21 +3,30 @@ package com.reliaquest.api.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.client.EmployeeClient.FetchMode;
+import com.reliaquest.api.client.UpstreamRateLimiter;
+import com.reliaquest.api.client.UpstreamThrottledException;
 import com.reliaquest.api.model.ApiResponse;
 import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.CreateEmployeeResult;
 import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootTest
@@ -26,7 +35,6 @@ public class EmployeeServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private EmployeeService employeeService;
 
     private static final String BASE_URL = "http://localhost:8112/api/v1/employee";
@@ -35,6 +43,17 @@ public class EmployeeServiceTest {
 
     @BeforeEach
     void setUp() {
+        UpstreamRateLimiter rateLimiter =
+                new UpstreamRateLimiter(100, Duration.ofSeconds(1), Duration.ofSeconds(1));
+        EmployeeClient employeeClient = new EmployeeClient(
+                restTemplate, rateLimiter, new SimpleMeterRegistry(), Duration.ZERO, 2, FetchMode.FULL, 1000);
+        employeeService = new EmployeeService(
+                employeeClient,
+                true,
+                Duration.ofMinutes(1),
+                Runnable::run,
+                new FanOut(Runnable::run, Duration.ofSeconds(5)));
+
         sampleEmployee = new Employee();
         sampleEmployee.setId(UUID.randomUUID().toString());
         sampleEmployee.setEmployeeName("Dylan Cann");
@@ -61,19 +80,66 @@ public class EmployeeServiceTest {
         assertEquals("Dylan Cann", employees.get(0).getEmployeeName());
     }
 
+    @Test
+    void getAllEmployees_servesRepeatedReadsFromSnapshot() {
+        ApiResponse<List<Employee>> apiResponse = new ApiResponse<>();
+        apiResponse.setData(List.of(sampleEmployee));
+
+        when(restTemplate.exchange(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(apiResponse));
+
+        employeeService.getAllEmployees();
+        employeeService.getHighestSalary();
+        employeeService.getTop10HighestEarningEmployeeNames();
+        employeeService.getEmployeeById(sampleEmployee.getId());
+
+        verify(restTemplate, times(1))
+                .exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void createEmployee_patchesSnapshot() {
+        ApiResponse<List<Employee>> listResponse = new ApiResponse<>();
+        listResponse.setData(List.of(sampleEmployee));
+
+        when(restTemplate.exchange(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(listResponse));
+
+        Employee created = new Employee(UUID.randomUUID().toString(), "Carissa Beebe", 120000, 28, "Lead", null);
+        ApiResponse<Employee> createResponse = new ApiResponse<>();
+        createResponse.setData(created);
+
+        when(restTemplate.exchange(
+                        eq(BASE_URL),
+                        eq(HttpMethod.POST),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(createResponse));
+
+        employeeService.getAllEmployees();
+        employeeService.createEmployee(new CreateEmployeeInput());
+
+        assertEquals(2, employeeService.getAllEmployees().size());
+        assertEquals(120000, employeeService.getHighestSalary());
+        verify(restTemplate, times(1))
+                .exchange(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
     @Test
     void getEmployeesByNameSearch_filtersCorrectly() {
         Employee sampleEmployee = new Employee();
         sampleEmployee.setEmployeeName("John Doe");
 
-        EmployeeService spyService = Mockito.spy(employeeService);
+        ApiResponse<List<Employee>> apiResponse = new ApiResponse<>();
+        apiResponse.setData(List.of(sampleEmployee));
 
-        Mockito.doReturn(List.of(sampleEmployee)).when(spyService).getAllEmployees();
+        when(restTemplate.exchange(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(apiResponse));
 
-        List<Employee> filtered = spyService.getEmployeesByNameSearch("john");
+        List<Employee> filtered = employeeService.getEmployeesByNameSearch("john");
         assertEquals(1, filtered.size());
 
-        filtered = spyService.getEmployeesByNameSearch("nonexistent");
+        filtered = employeeService.getEmployeesByNameSearch("nonexistent");
         assertEquals(0, filtered.size());
     }
 
@@ -93,6 +159,41 @@ public class EmployeeServiceTest {
         assertEquals("Dylan Cann", employee.getEmployeeName());
     }
 
+    @Test
+    void getEmployeesByIds_fetchesOnlyIdsMissingFromSnapshot() {
+        ApiResponse<List<Employee>> listResponse = new ApiResponse<>();
+        listResponse.setData(List.of(sampleEmployee));
+
+        when(restTemplate.exchange(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(listResponse));
+
+        Employee other = new Employee("other-id", "Carissa Beebe", 120000, 28, "Lead", null);
+        ApiResponse<Employee> otherResponse = new ApiResponse<>();
+        otherResponse.setData(other);
+
+        when(restTemplate.exchange(
+                        eq(BASE_URL + "/other-id"), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(otherResponse));
+        when(restTemplate.exchange(
+                        eq(BASE_URL + "/missing-id"),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        employeeService.getAllEmployees();
+        List<Employee> employees =
+                employeeService.getEmployeesByIds(List.of("other-id", sampleEmployee.getId(), "missing-id", "other-id"));
+
+        assertEquals(List.of(other, sampleEmployee), employees);
+        verify(restTemplate, never())
+                .exchange(
+                        eq(BASE_URL + "/" + sampleEmployee.getId()),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class));
+    }
+
     @Test
     void getHighestSalary_returnsMaxSalary() {
         ApiResponse<List<Employee>> apiResponse = new ApiResponse<>();
@@ -117,11 +218,13 @@ public class EmployeeServiceTest {
         emp2.setEmployeeName("Carissa Beebe");
         emp2.setEmployeeSalary(120000);
 
-        EmployeeService spyService = Mockito.spy(employeeService);
+        ApiResponse<List<Employee>> apiResponse = new ApiResponse<>();
+        apiResponse.setData(List.of(emp1, emp2));
 
-        Mockito.doReturn(List.of(emp1, emp2)).when(spyService).getAllEmployees();
+        when(restTemplate.exchange(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(apiResponse));
 
-        List<String> top10 = spyService.getTop10HighestEarningEmployeeNames();
+        List<String> top10 = employeeService.getTop10HighestEarningEmployeeNames();
 
         assertEquals(2, top10.size());
         assertEquals("Carissa Beebe", top10.get(0));
@@ -151,6 +254,45 @@ public class EmployeeServiceTest {
         assertEquals("Dylan Cann", created.getEmployeeName());
     }
 
+    @Test
+    void createEmployee_retriesWhenThrottled() {
+        ApiResponse<Employee> apiResponse = new ApiResponse<>();
+        apiResponse.setData(sampleEmployee);
+
+        when(restTemplate.exchange(
+                        eq(BASE_URL),
+                        eq(HttpMethod.POST),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class)))
+                .thenThrow(HttpClientErrorException.create(
+                        HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", retryAfter("0"), null, null))
+                .thenReturn(ResponseEntity.ok(apiResponse));
+
+        Employee created = employeeService.createEmployee(new CreateEmployeeInput());
+
+        assertNotNull(created);
+        verify(restTemplate, times(2))
+                .exchange(
+                        eq(BASE_URL),
+                        eq(HttpMethod.POST),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void createEmployee_givesUpWhenThrottledRepeatedly() {
+        when(restTemplate.exchange(
+                        eq(BASE_URL),
+                        eq(HttpMethod.POST),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class)))
+                .thenThrow(HttpClientErrorException.create(
+                        HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", retryAfter("0"), null, null));
+
+        assertThrows(
+                UpstreamThrottledException.class, () -> employeeService.createEmployee(new CreateEmployeeInput()));
+    }
+
     @Test
     void createEmployee_failureReturnsNull() {
         CreateEmployeeInput input = new CreateEmployeeInput();
@@ -169,6 +311,43 @@ public class EmployeeServiceTest {
         assertNull(created);
     }
 
+    @Test
+    void createEmployees_patchesSnapshotWithCreatedEntries() {
+        ApiResponse<List<Employee>> listResponse = new ApiResponse<>();
+        listResponse.setData(List.of(sampleEmployee));
+
+        when(restTemplate.exchange(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(listResponse));
+
+        Employee created = new Employee(UUID.randomUUID().toString(), "Carissa Beebe", 120000, 28, "Lead", null);
+        ApiResponse<List<CreateEmployeeResult>> batchResponse = new ApiResponse<>();
+        batchResponse.setData(List.of(
+                new CreateEmployeeResult(0, created, null),
+                new CreateEmployeeResult(1, null, List.of("salary must not be null"))));
+
+        when(restTemplate.exchange(
+                        eq(BASE_URL + "/batch"),
+                        eq(HttpMethod.POST),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(batchResponse));
+
+        employeeService.getAllEmployees();
+        List<CreateEmployeeResult> results =
+                employeeService.createEmployees(List.of(new CreateEmployeeInput(), new CreateEmployeeInput()));
+
+        assertEquals(2, results.size());
+        assertEquals(List.of("salary must not be null"), results.get(1).getErrors());
+        assertEquals(2, employeeService.getAllEmployees().size());
+        assertEquals(120000, employeeService.getHighestSalary());
+        verify(restTemplate, times(1))
+                .exchange(
+                        eq(BASE_URL + "/batch"),
+                        eq(HttpMethod.POST),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class));
+    }
+
     @Test
     void deleteEmployeeById_successfulDelete() {
         EmployeeService spyService = Mockito.spy(employeeService);
@@ -191,6 +370,70 @@ public class EmployeeServiceTest {
         assertEquals(sampleEmployee.getEmployeeName(), deletedName);
     }
 
+    @Test
+    void deleteEmployeeById_usesKnownNameWithoutLookup() {
+        ApiResponse<List<Employee>> listResponse = new ApiResponse<>();
+        listResponse.setData(List.of(sampleEmployee));
+
+        when(restTemplate.exchange(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(listResponse));
+
+        ApiResponse<Boolean> deleteResponse = new ApiResponse<>();
+        deleteResponse.setData(true);
+
+        when(restTemplate.exchange(
+                        eq(BASE_URL),
+                        eq(HttpMethod.DELETE),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(deleteResponse));
+
+        employeeService.getAllEmployees();
+        EmployeeService spyService = Mockito.spy(employeeService);
+
+        String deletedName = spyService.deleteEmployeeById(sampleEmployee.getId());
+
+        assertEquals(sampleEmployee.getEmployeeName(), deletedName);
+        verify(spyService, never()).getEmployeeById(anyString());
+        verify(restTemplate, never())
+                .exchange(
+                        eq(BASE_URL + "/" + sampleEmployee.getId()),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void deleteEmployeeById_looksUpEmployeeWhoseNameIsShared() {
+        Employee namesake = new Employee(
+                UUID.randomUUID().toString(), "DYLAN CANN", 90000, 40, "Manager", "dcann@example.com");
+        ApiResponse<List<Employee>> listResponse = new ApiResponse<>();
+        listResponse.setData(List.of(namesake, sampleEmployee));
+
+        when(restTemplate.exchange(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(listResponse));
+
+        ApiResponse<Boolean> deleteResponse = new ApiResponse<>();
+        deleteResponse.setData(true);
+
+        when(restTemplate.exchange(
+                        eq(BASE_URL),
+                        eq(HttpMethod.DELETE),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(deleteResponse));
+
+        employeeService.getAllEmployees();
+        EmployeeService spyService = Mockito.spy(employeeService);
+
+        String deletedName = spyService.deleteEmployeeById(sampleEmployee.getId());
+
+        assertEquals(sampleEmployee.getEmployeeName(), deletedName);
+        verify(spyService, times(1)).getEmployeeById(sampleEmployee.getId());
+        // the upstream may have deleted the namesake instead, so the snapshot is not patched
+        assertEquals(2, employeeService.getAllEmployees().size());
+    }
+
     @Test
     void deleteEmployeeById_employeeNotFound_returnsNull() {
         EmployeeService spyService = Mockito.spy(employeeService);
@@ -230,4 +473,10 @@ public class EmployeeServiceTest {
 
         assertNull(deletedName);
     }
+
+    private static HttpHeaders retryAfter(String seconds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, seconds);
+        return headers;
+    }
 }
@@ -0,0 +1,71 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FanOutTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void map_keepsInputOrder() {
+        FanOut fanOut = new FanOut(executor, Duration.ofSeconds(5));
+
+        List<Integer> lengths = fanOut.map(List.of("ccc", "a", "bb"), value -> {
+            sleep(value.length() * 20L);
+            return value.length();
+        });
+
+        assertEquals(List.of(3, 1, 2), lengths);
+    }
+
+    @Test
+    void map_rethrowsFirstFailureAndInterruptsTheRest() throws Exception {
+        FanOut fanOut = new FanOut(executor, Duration.ofSeconds(5));
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        assertThrows(IllegalStateException.class, () -> fanOut.map(List.of("slow", "failing"), value -> {
+            if (value.equals("failing")) {
+                throw new IllegalStateException("upstream down");
+            }
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return value;
+        }));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void map_failsWhenCallsOutlastTimeout() {
+        FanOut fanOut = new FanOut(executor, Duration.ofMillis(50));
+
+        assertThrows(FanOut.FanOutTimeoutException.class, () -> fanOut.map(List.of("a", "b"), value -> {
+            sleep(5_000);
+            return value;
+        }));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
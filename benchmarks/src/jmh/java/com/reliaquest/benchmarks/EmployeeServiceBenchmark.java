@@ -0,0 +1,97 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.client.EmployeeClient;
+import com.reliaquest.api.client.EmployeeClient.FetchMode;
+import com.reliaquest.api.client.UpstreamRateLimiter;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.FanOut;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Read paths of {@link EmployeeService} against a warm snapshot; the upstream is replaced by an in-memory roster. The
+ * {@code *Baseline} benchmarks run the original implementations, one stream over the whole roster per request, on the
+ * same roster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int rosterSize;
+
+    /*
+     * A common first-name fragment, a rare full-name fragment and a two-letter query that bypasses the trigram index.
+     */
+    @Param({"john", "ann c", "zz"})
+    String searchString;
+
+    private List<Employee> roster;
+    private EmployeeService employeeService;
+
+    @Setup
+    public void setUp() {
+        roster = Rosters.employees(rosterSize);
+        EmployeeClient employeeClient = new EmployeeClient(
+                new RestTemplate(),
+                new UpstreamRateLimiter(1, Duration.ofSeconds(1), Duration.ofSeconds(1)),
+                new SimpleMeterRegistry(),
+                Duration.ZERO,
+                1,
+                FetchMode.FULL,
+                1000) {
+
+            @Override
+            public ResponseEntity<List<Employee>> getAllEmployeesIfNoneMatch(String etag) {
+                return ResponseEntity.ok(roster);
+            }
+        };
+        employeeService = new EmployeeService(
+                employeeClient, true, Duration.ofDays(1), Runnable::run, new FanOut(Runnable::run, Duration.ofDays(1)));
+        employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public Integer highestSalary() {
+        return employeeService.getHighestSalary();
+    }
+
+    @Benchmark
+    public Integer highestSalaryBaseline() {
+        return roster.stream().mapToInt(Employee::getEmployeeSalary).max().orElse(0);
+    }
+
+    @Benchmark
+    public List<String> top10HighestEarningEmployeeNames() {
+        return employeeService.getTop10HighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    public List<String> top10HighestEarningEmployeeNamesBaseline() {
+        return roster.stream()
+                .sorted(Comparator.comparing(Employee::getEmployeeSalary).reversed())
+                .limit(10)
+                .map(Employee::getEmployeeName)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Employee> searchByName() {
+        return employeeService.getEmployeesByNameSearch(searchString);
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reliaquest.api.client.EmployeeAggregates;
+import com.reliaquest.api.client.EmployeeStreamReader;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Wire format costs of the roster: the server encoding {@link MockEmployee} with its prefix naming strategy, and the
+ * api decoding {@link Employee} with snake case, either fully or by streaming straight into an aggregate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JacksonBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int rosterSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EmployeeStreamReader streamReader = new EmployeeStreamReader();
+
+    private ObjectWriter mockEmployeeWriter;
+    private ObjectWriter employeeWriter;
+    private ObjectReader employeeReader;
+    private Response<List<MockEmployee>> mockResponse;
+    private List<Employee> employees;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<MockEmployee> mockEmployees = Rosters.mockEmployees(rosterSize);
+        mockResponse = Response.handledWith(mockEmployees);
+        employees = mockEmployees.stream().map(Rosters::toEmployee).toList();
+        mockEmployeeWriter = objectMapper.writerFor(new TypeReference<Response<List<MockEmployee>>>() {});
+        employeeWriter = objectMapper.writerFor(new TypeReference<List<Employee>>() {});
+        employeeReader = objectMapper.readerFor(new TypeReference<ApiResponse<List<Employee>>>() {});
+        body = mockEmployeeWriter.writeValueAsBytes(mockResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeMockEmployees() throws IOException {
+        return mockEmployeeWriter.writeValueAsBytes(mockResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployees() throws IOException {
+        return employeeWriter.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public ApiResponse<List<Employee>> deserializeEmployees() throws IOException {
+        return employeeReader.readValue(body);
+    }
+
+    @Benchmark
+    public Integer streamHighestSalary() throws IOException {
+        return streamReader.read(new ByteArrayInputStream(body), EmployeeAggregates.highestSalary());
+    }
+}
@@ -0,0 +1,82 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Point operations of {@link MockEmployeeService}. Lookups cycle through the whole roster and deletes through every
+ * employee with a unique name, so each invocation hits a different employee.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int rosterSize;
+
+    private MockEmployeeStore store;
+    private MockEmployeeService mockEmployeeService;
+    private UUID[] ids;
+    private MockEmployee[] uniquelyNamed;
+    private int nextId;
+    private int nextDelete;
+
+    @Setup
+    public void setUp() {
+        List<MockEmployee> employees = Rosters.mockEmployees(rosterSize);
+        store = new MockEmployeeStore();
+        employees.forEach(store::add);
+        mockEmployeeService = new MockEmployeeService(new Faker(Locale.US), store);
+        ids = employees.stream().map(MockEmployee::getId).toArray(UUID[]::new);
+        Map<String, Long> nameCounts = employees.stream()
+                .collect(Collectors.groupingBy(employee -> nameKey(employee.getName()), Collectors.counting()));
+        uniquelyNamed = employees.stream()
+                .filter(employee -> nameCounts.get(nameKey(employee.getName())) == 1)
+                .toArray(MockEmployee[]::new);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        UUID id = ids[nextId];
+        nextId = nextId + 1 == ids.length ? 0 : nextId + 1;
+        return mockEmployeeService.findById(id);
+    }
+
+    /*
+     * The deleted employee is put back straight away so the roster keeps its size; the score therefore covers a delete
+     * by name plus a store insert.
+     */
+    @Benchmark
+    public boolean deleteByName() {
+        MockEmployee employee = uniquelyNamed[nextDelete];
+        nextDelete = nextDelete + 1 == uniquelyNamed.length ? 0 : nextDelete + 1;
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName(employee.getName());
+        boolean deleted = mockEmployeeService.delete(input);
+        store.add(employee);
+        return deleted;
+    }
+
+    private static String nameKey(String name) {
+        return name.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,35 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reproducible rosters for the benchmarks: the same size always yields the same employees.
+ */
+final class Rosters {
+
+    static final long SEED = 20240101L;
+
+    private Rosters() {}
+
+    static List<MockEmployee> mockEmployees(int size) {
+        return new MockEmployeeGenerator(Locale.US, SEED, Runtime.getRuntime().availableProcessors()).generate(size);
+    }
+
+    static List<Employee> employees(int size) {
+        return mockEmployees(size).stream().map(Rosters::toEmployee).toList();
+    }
+
+    static Employee toEmployee(MockEmployee mockEmployee) {
+        return new Employee(
+                mockEmployee.getId().toString(),
+                mockEmployee.getName(),
+                mockEmployee.getSalary(),
+                mockEmployee.getAge(),
+                mockEmployee.getTitle(),
+                mockEmployee.getEmail());
+    }
+}
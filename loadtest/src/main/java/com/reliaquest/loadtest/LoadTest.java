@@ -0,0 +1,242 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives the api's routes in the configured {@link Mix} and writes a JSON report of throughput, error rate and latency
+ * percentiles per operation, so runs before and after a change can be compared. See {@link LoadTestSettings}.
+ */
+@Slf4j
+public class LoadTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .build();
+    private static final DateTimeFormatter REPORT_NAME =
+            DateTimeFormatter.ofPattern("'loadtest-'yyyyMMdd-HHmmss'.json'").withZone(ZoneOffset.UTC);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestSettings settings;
+    private final HttpClient httpClient;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private Targets targets;
+
+    LoadTest(LoadTestSettings settings, HttpClient httpClient) {
+        this.settings = settings;
+        this.httpClient = httpClient;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        Files.createDirectories(settings.reportDir());
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        try (LocalApplications ignored = settings.boot() ? LocalApplications.boot(settings, httpClient) : null) {
+            Path report = new LoadTest(settings, httpClient).run();
+            log.info("Report written to {}", report);
+        }
+    }
+
+    Path run() throws IOException, InterruptedException {
+        targets = loadTargets();
+        Instant startedAt = Instant.now().plus(settings.warmup());
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        log.info(
+                "Running {} at {} for {} after a {} warmup, concurrency {}",
+                settings.mix(),
+                settings.rate() == 0 ? "full speed" : settings.rate() + " requests/s",
+                settings.duration(),
+                settings.warmup(),
+                settings.concurrency());
+
+        Thread warmup = new Thread(
+                () -> {
+                    sleepUntil(measureFrom);
+                    stats.values().forEach(OperationStats::reset);
+                },
+                "loadtest-warmup");
+        warmup.start();
+        if (settings.rate() == 0) {
+            runClosed(end);
+        } else {
+            runOpen(end);
+        }
+        warmup.join();
+
+        double seconds = settings.duration().toNanos() / 1e9;
+        Map<Operation, OperationStats.Report> operations = new EnumMap<>(Operation.class);
+        OperationStats.Snapshot total = OperationStats.Snapshot.empty();
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats.Snapshot snapshot = entry.getValue().snapshot();
+            if (snapshot.latencies().getTotalCount() > 0 || settings.mix().weights().containsKey(entry.getKey())) {
+                operations.put(entry.getKey(), snapshot.report(seconds));
+                total = total.plus(snapshot);
+            }
+        }
+        RunReport report = new RunReport(startedAt, settings, total.report(seconds), operations);
+        report.logSummary();
+        Path file = settings.reportDir().resolve(REPORT_NAME.format(startedAt));
+        OBJECT_MAPPER.writeValue(file.toFile(), report);
+        return file;
+    }
+
+    private Targets loadTargets() throws IOException, InterruptedException {
+        HttpRequest roster = HttpRequest.newBuilder(URI.create(settings.baseUrl())).GET().build();
+        HttpResponse<String> response = httpClient.send(roster, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not read the roster: " + response.statusCode());
+        }
+        return Targets.fromRoster(response.body());
+    }
+
+    /*
+     * Each of the concurrency clients sends its next request when the previous one was answered.
+     */
+    private void runClosed(long end) throws InterruptedException {
+        SplittableRandom seeds = new SplittableRandom(settings.seed());
+        List<Thread> clients = new ArrayList<>(settings.concurrency());
+        for (int i = 0; i < settings.concurrency(); i++) {
+            RandomGenerator random = seeds.split();
+            Thread client = new Thread(
+                    () -> {
+                        while (System.nanoTime() < end) {
+                            send(settings.mix().next(random), System.nanoTime(), random).join();
+                        }
+                    },
+                    "loadtest-client-" + i);
+            client.start();
+            clients.add(client);
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+    }
+
+    /*
+     * Requests are due at a fixed rate and timed from when they were due, so waiting for a free slot counts against
+     * the api instead of hiding behind fewer requests (coordinated omission).
+     */
+    private void runOpen(long end) throws InterruptedException {
+        RandomGenerator random = new SplittableRandom(settings.seed());
+        Semaphore inFlight = new Semaphore(settings.concurrency());
+        long interval = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        for (long due = System.nanoTime(); due < end; due += interval) {
+            sleepUntil(due);
+            inFlight.acquire();
+            send(settings.mix().next(random), due, random).whenComplete((ignored, e) -> inFlight.release());
+        }
+        if (!inFlight.tryAcquire(settings.concurrency(), DRAIN_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS)) {
+            log.warn("Requests still in flight after {}", DRAIN_TIMEOUT);
+        }
+    }
+
+    private CompletableFuture<Void> send(Operation operation, long due, RandomGenerator random) {
+        HttpRequest request = operation.request(settings.baseUrl(), targets, random);
+        if (request == null) {
+            return send(Operation.CREATE, due, random);
+        }
+        OperationStats operationStats = stats.get(operation);
+        return httpClient
+                .sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, e) -> {
+                    long latency = System.nanoTime() - due;
+                    if (response != null) {
+                        operationStats.recordResponse(response.statusCode(), latency);
+                        operation.completed(response, targets);
+                    } else {
+                        operationStats.recordFailure(latency);
+                    }
+                    return null;
+                });
+    }
+
+    private static void sleepUntil(long deadline) {
+        for (long wait = deadline - System.nanoTime(); wait > 0; wait = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    record RunReport(
+            Instant startedAt,
+            String baseUrl,
+            String mix,
+            int concurrency,
+            int rate,
+            Duration warmup,
+            Duration duration,
+            long seed,
+            List<String> serverArgs,
+            List<String> apiArgs,
+            OperationStats.Report total,
+            Map<Operation, OperationStats.Report> operations) {
+
+        RunReport(
+                Instant startedAt,
+                LoadTestSettings settings,
+                OperationStats.Report total,
+                Map<Operation, OperationStats.Report> operations) {
+            this(
+                    startedAt,
+                    settings.baseUrl(),
+                    settings.mix().toString(),
+                    settings.concurrency(),
+                    settings.rate(),
+                    settings.warmup(),
+                    settings.duration(),
+                    settings.seed(),
+                    settings.boot() ? settings.serverArgs() : List.of(),
+                    settings.boot() ? settings.apiArgs() : List.of(),
+                    total,
+                    operations);
+        }
+
+        void logSummary() {
+            operations.forEach((operation, report) -> logLine(operation.key(), report));
+            logLine("total", total);
+        }
+
+        private static void logLine(String name, OperationStats.Report report) {
+            log.info(
+                    "{}: {} requests, {} errors, {}/s, p50 {}us, p99 {}us, p99.9 {}us, max {}us",
+                    name,
+                    report.requests(),
+                    report.errors(),
+                    Math.round(report.throughput()),
+                    report.percentileMicros().get("p50"),
+                    report.percentileMicros().get("p99"),
+                    report.percentileMicros().get("p99.9"),
+                    report.maxMicros());
+        }
+    }
+}
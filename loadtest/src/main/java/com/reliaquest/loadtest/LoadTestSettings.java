@@ -0,0 +1,103 @@
+package com.reliaquest.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Settings of a load test run, given as {@code --<name>=<value>} arguments or as {@code loadtest.<name>} system
+ * properties.
+ *
+ * <p>With a {@code rate} of 0 the run is closed: {@code concurrency} clients each send their next request as soon as
+ * the previous one is answered. With a positive {@code rate} it is open: requests are started at that many per second
+ * whether or not earlier ones were answered, at most {@code concurrency} at a time, and latency is measured from when a
+ * request was due rather than when it was sent, so a stalled api shows up in the percentiles instead of slowing the
+ * load down.
+ *
+ * <p>Arguments {@code --server:<property>=<value>} and {@code --api:<property>=<value>} are passed on to the booted
+ * applications as {@code --<property>=<value>}. The server defaults to a seeded roster and a fixed token bucket limit,
+ * so consecutive runs see the same upstream.
+ */
+record LoadTestSettings(
+        boolean boot,
+        Path serverJar,
+        Path apiJar,
+        List<String> serverArgs,
+        List<String> apiArgs,
+        String baseUrl,
+        Duration warmup,
+        Duration duration,
+        int concurrency,
+        int rate,
+        Mix mix,
+        long seed,
+        Path reportDir) {
+
+    static final List<String> DEFAULT_SERVER_ARGS = List.of(
+            "--mock.employees.seed=42",
+            "--mock.limit.random=false",
+            "--mock.limit.policy=TOKEN_BUCKET",
+            "--mock.limit.requests=100",
+            "--mock.limit.window=1s");
+
+    private static final String PREFIX = "loadtest.";
+
+    LoadTestSettings {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        if (rate < 0) {
+            throw new IllegalArgumentException("Rate must not be negative: " + rate);
+        }
+    }
+
+    static LoadTestSettings parse(String... args) {
+        Map<String, String> settings = new HashMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(PREFIX))
+                .forEach(name -> settings.put(name.substring(PREFIX.length()), System.getProperty(name)));
+        List<String> serverArgs = new ArrayList<>(DEFAULT_SERVER_ARGS);
+        List<String> apiArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --<name>=<value>: " + arg);
+            }
+            String setting = arg.substring(2);
+            if (setting.startsWith("server:")) {
+                serverArgs.add("--" + setting.substring("server:".length()));
+            } else if (setting.startsWith("api:")) {
+                apiArgs.add("--" + setting.substring("api:".length()));
+            } else {
+                int separator = setting.indexOf('=');
+                settings.put(setting.substring(0, separator), setting.substring(separator + 1));
+            }
+        }
+        boolean boot = Boolean.parseBoolean(settings.getOrDefault("boot", "true"));
+        return new LoadTestSettings(
+                boot,
+                boot ? Path.of(required(settings, "server-jar")) : null,
+                boot ? Path.of(required(settings, "api-jar")) : null,
+                List.copyOf(serverArgs),
+                List.copyOf(apiArgs),
+                settings.getOrDefault("base-url", "http://localhost:8111/api/v1/employee"),
+                DurationStyle.detectAndParse(settings.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(settings.getOrDefault("duration", "60s")),
+                Integer.parseInt(settings.getOrDefault("concurrency", "32")),
+                Integer.parseInt(settings.getOrDefault("rate", "0")),
+                Mix.parse(settings.getOrDefault("mix", Mix.DEFAULT)),
+                Long.parseLong(settings.getOrDefault("seed", "42")),
+                Path.of(settings.getOrDefault("report-dir", "build/loadtest")));
+    }
+
+    private static String required(Map<String, String> settings, String name) {
+        String value = settings.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + name + "=<value>");
+        }
+        return value;
+    }
+}
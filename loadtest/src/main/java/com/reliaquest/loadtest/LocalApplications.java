@@ -0,0 +1,88 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Boots the server and api jars in JVMs of their own, so the load generator neither shares a heap nor competes for GC
+ * with them, and stops them again on {@link #close}. Their output goes to {@code server.log} and {@code api.log} in
+ * the report directory.
+ */
+@Slf4j
+class LocalApplications implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(250);
+
+    private final List<Process> processes = new ArrayList<>();
+
+    static LocalApplications boot(LoadTestSettings settings, HttpClient httpClient)
+            throws IOException, InterruptedException {
+        LocalApplications applications = new LocalApplications();
+        try {
+            applications.start("server", settings.serverJar(), settings.serverArgs(), settings.reportDir());
+            applications.awaitHealthy(httpClient, "http://localhost:8112/actuator/health");
+            applications.start("api", settings.apiJar(), settings.apiArgs(), settings.reportDir());
+            applications.awaitHealthy(httpClient, "http://localhost:8111/actuator/health");
+            return applications;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            applications.close();
+            throw e;
+        }
+    }
+
+    private void start(String name, Path jar, List<String> args, Path reportDir) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(args);
+        log.info("Starting {}: {}", name, String.join(" ", command));
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(reportDir.resolve(name + ".log").toFile())
+                .start());
+    }
+
+    private void awaitHealthy(HttpClient httpClient, String healthUrl) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create(healthUrl)).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            Process process = processes.get(processes.size() - 1);
+            if (!process.isAlive()) {
+                throw new IllegalStateException(
+                        "Exited with " + process.exitValue() + " before " + healthUrl + " was up");
+            }
+            try {
+                if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notYetListening) {
+                // keep polling
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException(healthUrl + " was not up within " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            Process process = processes.get(i);
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+        processes.clear();
+    }
+}
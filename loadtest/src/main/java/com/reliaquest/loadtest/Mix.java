@@ -0,0 +1,76 @@
+package com.reliaquest.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Relative weights of the operations in a run, written as e.g. {@code byId=60,search=20,all=10,create=5,delete=5}.
+ * Operations that are not listed are not run.
+ */
+class Mix {
+
+    static final String DEFAULT = "all=10,search=15,byId=40,highestSalary=10,topTen=10,create=10,delete=5";
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulative;
+
+    private Mix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulative = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulative[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The mix must weigh at least one operation");
+        }
+    }
+
+    static Mix parse(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] keyAndWeight = entry.trim().split("=", 2);
+            if (keyAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected <operation>=<weight>: " + entry);
+            }
+            int weight = Integer.parseInt(keyAndWeight[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights must not be negative: " + entry);
+            }
+            if (weight > 0) {
+                weights.put(Operation.forKey(keyAndWeight[0].trim()), weight);
+            }
+        }
+        return new Mix(weights);
+    }
+
+    Operation next(RandomGenerator random) {
+        int pick = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (pick < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    Map<Operation, Integer> weights() {
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder mix = new StringBuilder();
+        weights.forEach((operation, weight) -> {
+            if (!mix.isEmpty()) {
+                mix.append(',');
+            }
+            mix.append(operation.key()).append('=').append(weight);
+        });
+        return mix.toString();
+    }
+}
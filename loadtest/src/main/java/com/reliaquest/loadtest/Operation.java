@@ -0,0 +1,114 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * The routes of {@code IEmployeeController}, each named by the key used for it in a {@link Mix}.
+ */
+enum Operation {
+    GET_ALL("all") {
+        @Override
+        HttpRequest request(String baseUrl, Targets targets, RandomGenerator random) {
+            return get(baseUrl);
+        }
+    },
+
+    SEARCH("search") {
+        @Override
+        HttpRequest request(String baseUrl, Targets targets, RandomGenerator random) {
+            return get(baseUrl + "/search/" + URLEncoder.encode(targets.nameFragment(random), StandardCharsets.UTF_8));
+        }
+    },
+
+    GET_BY_ID("byId") {
+        @Override
+        HttpRequest request(String baseUrl, Targets targets, RandomGenerator random) {
+            return get(baseUrl + "/" + targets.id(random));
+        }
+    },
+
+    HIGHEST_SALARY("highestSalary") {
+        @Override
+        HttpRequest request(String baseUrl, Targets targets, RandomGenerator random) {
+            return get(baseUrl + "/highestSalary");
+        }
+    },
+
+    TOP_TEN("topTen") {
+        @Override
+        HttpRequest request(String baseUrl, Targets targets, RandomGenerator random) {
+            return get(baseUrl + "/topTenHighestEarningEmployeeNames");
+        }
+    },
+
+    CREATE("create") {
+        @Override
+        HttpRequest request(String baseUrl, Targets targets, RandomGenerator random) {
+            return builder(baseUrl)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(targets.newEmployee(random)))
+                    .build();
+        }
+
+        @Override
+        void completed(HttpResponse<String> response, Targets targets) {
+            if (response.statusCode() == 200) {
+                targets.created(response.body());
+            }
+        }
+    },
+
+    /**
+     * Deletes an employee this run created, so the roster the other routes read keeps its size; while there is none,
+     * {@link #request} returns {@code null} and {@link LoadTest} creates one instead.
+     */
+    DELETE("delete") {
+        @Override
+        HttpRequest request(String baseUrl, Targets targets, RandomGenerator random) {
+            String id = targets.takeCreated();
+            if (id == null) {
+                return null;
+            }
+            return builder(baseUrl + "/" + id).DELETE().build();
+        }
+    };
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation forKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+
+    abstract HttpRequest request(String baseUrl, Targets targets, RandomGenerator random);
+
+    void completed(HttpResponse<String> response, Targets targets) {}
+
+    private static HttpRequest get(String uri) {
+        return builder(uri).GET().build();
+    }
+
+    private static HttpRequest.Builder builder(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(TIMEOUT);
+    }
+}
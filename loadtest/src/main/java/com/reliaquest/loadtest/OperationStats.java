@@ -0,0 +1,119 @@
+package com.reliaquest.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latencies and outcomes of one operation. Recording is safe from any thread and does not block.
+ */
+class OperationStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double[] PERCENTILES = {50, 75, 90, 95, 99, 99.9, 99.99};
+
+    private final Recorder latencies = new Recorder(MAX_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+
+    void recordResponse(int status, long latencyNanos) {
+        record(latencyNanos);
+        statuses.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+    }
+
+    /**
+     * Records a request that got no response, e.g. because the connection was refused or timed out.
+     */
+    void recordFailure(long latencyNanos) {
+        record(latencyNanos);
+        failures.increment();
+    }
+
+    /**
+     * Discards everything recorded so far, at the end of the warmup.
+     */
+    void reset() {
+        latencies.reset();
+        statuses.clear();
+        failures.reset();
+    }
+
+    /**
+     * @return everything recorded since the last snapshot or reset
+     */
+    Snapshot snapshot() {
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sumThenReset()));
+        return new Snapshot(latencies.getIntervalHistogram(), statusCounts, failures.sumThenReset());
+    }
+
+    private void record(long latencyNanos) {
+        latencies.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(Math.max(0, latencyNanos))));
+    }
+
+    record Snapshot(Histogram latencies, Map<Integer, Long> statuses, long failures) {
+
+        static Snapshot empty() {
+            return new Snapshot(new Histogram(MAX_LATENCY_MICROS, SIGNIFICANT_DIGITS), Map.of(), 0);
+        }
+
+        Snapshot plus(Snapshot other) {
+            Histogram combined = latencies.copy();
+            combined.add(other.latencies);
+            Map<Integer, Long> combinedStatuses = new TreeMap<>(statuses);
+            other.statuses.forEach((status, count) -> combinedStatuses.merge(status, count, Long::sum));
+            return new Snapshot(combined, combinedStatuses, failures + other.failures);
+        }
+
+        Report report(double seconds) {
+            long requests = latencies.getTotalCount();
+            long errors = failures
+                    + statuses.entrySet().stream()
+                            .filter(status -> status.getKey() >= 400)
+                            .mapToLong(Map.Entry::getValue)
+                            .sum();
+            Map<String, Long> percentiles = new LinkedHashMap<>();
+            for (double percentile : PERCENTILES) {
+                percentiles.put(label(percentile), latencies.getValueAtPercentile(percentile));
+            }
+            return new Report(
+                    requests,
+                    requests / seconds,
+                    errors,
+                    requests == 0 ? 0 : (double) errors / requests,
+                    failures,
+                    statuses,
+                    requests == 0 ? 0 : latencies.getMean(),
+                    latencies.getMaxValue(),
+                    percentiles);
+        }
+
+        private static String label(double percentile) {
+            if (percentile == Math.rint(percentile)) {
+                return "p" + (long) percentile;
+            }
+            return "p" + percentile;
+        }
+    }
+
+    /**
+     * What {@link LoadTest} reports per operation and in total. Latencies are in microseconds; responses with a 4xx or
+     * 5xx status count as errors, as do requests that got no response at all ({@code failures}).
+     */
+    record Report(
+            long requests,
+            double throughput,
+            long errors,
+            double errorRate,
+            long failures,
+            Map<Integer, Long> statuses,
+            double meanMicros,
+            long maxMicros,
+            Map<String, Long> percentileMicros) {}
+}
@@ -0,0 +1,97 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * What the routes are pointed at: the ids and names of the roster as it was when the run started, plus the employees
+ * the run created and has not deleted yet.
+ */
+class Targets {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int FRAGMENT_LENGTH = 3;
+
+    private final List<String> ids;
+    private final List<String> names;
+    private final Queue<String> created = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    Targets(List<String> ids, List<String> names) {
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("The roster is empty");
+        }
+        this.ids = List.copyOf(ids);
+        this.names = List.copyOf(names);
+    }
+
+    /**
+     * @param roster the body of {@code GET /api/v1/employee}
+     */
+    static Targets fromRoster(String roster) throws JsonProcessingException {
+        List<String> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (JsonNode employee : OBJECT_MAPPER.readTree(roster)) {
+            ids.add(employee.path("id").asText());
+            names.add(employee.path("employee_name").asText());
+        }
+        return new Targets(ids, names);
+    }
+
+    String id(RandomGenerator random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    /**
+     * @return a few consecutive characters of a random employee's name, so searches match a handful of employees
+     */
+    String nameFragment(RandomGenerator random) {
+        String name = names.get(random.nextInt(names.size()));
+        if (name.length() <= FRAGMENT_LENGTH) {
+            return name;
+        }
+        int start = random.nextInt(name.length() - FRAGMENT_LENGTH + 1);
+        return name.substring(start, start + FRAGMENT_LENGTH);
+    }
+
+    String newEmployee(RandomGenerator random) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(Map.of(
+                    "name", "Load Test " + sequence.incrementAndGet(),
+                    "salary", random.nextInt(30_000, 300_000),
+                    "age", random.nextInt(16, 76),
+                    "title", "Load Tester"));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param employee the body of a successful {@code POST /api/v1/employee}
+     */
+    void created(String employee) {
+        try {
+            String id = OBJECT_MAPPER.readTree(employee).path("id").asText(null);
+            if (id != null) {
+                created.add(id);
+            }
+        } catch (JsonProcessingException ignored) {
+            // not deleting an employee whose id could not be read is harmless
+        }
+    }
+
+    /**
+     * @return the id of an employee this run created, which is no longer offered afterwards, or {@code null}
+     */
+    String takeCreated() {
+        return created.poll();
+    }
+}
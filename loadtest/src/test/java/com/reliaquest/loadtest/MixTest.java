@@ -0,0 +1,47 @@
+package com.reliaquest.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+class MixTest {
+
+    @Test
+    void parse_skipsOperationsWeighedZero() {
+        Mix mix = Mix.parse("byId=3, search=1,delete=0");
+
+        assertEquals(Map.of(Operation.GET_BY_ID, 3, Operation.SEARCH, 1), mix.weights());
+        assertEquals("search=1,byId=3", mix.toString());
+    }
+
+    @Test
+    void parse_rejectsUnknownOperations() {
+        assertThrows(IllegalArgumentException.class, () -> Mix.parse("byId=3,update=1"));
+        assertThrows(IllegalArgumentException.class, () -> Mix.parse("byId"));
+        assertThrows(IllegalArgumentException.class, () -> Mix.parse("byId=0"));
+    }
+
+    @Test
+    void next_picksOperationsByWeight() {
+        Mix mix = Mix.parse("byId=3,search=1");
+        RandomGenerator random = new SplittableRandom(42);
+        Map<Operation, Integer> picks = new EnumMap<>(Operation.class);
+
+        for (int i = 0; i < 40_000; i++) {
+            picks.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        assertEquals(2, picks.size());
+        assertEquals(0.75, picks.get(Operation.GET_BY_ID) / 40_000.0, 0.015);
+        assertEquals(0.25, picks.get(Operation.SEARCH) / 40_000.0, 0.015);
+    }
+
+    @Test
+    void default_coversEveryOperation() {
+        assertEquals(Operation.values().length, Mix.parse(Mix.DEFAULT).weights().size());
+    }
+}
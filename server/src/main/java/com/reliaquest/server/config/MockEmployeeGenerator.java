@@ -0,0 +1,116 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+/**
+ * Bulk generator for the initial mock roster.
+ *
+ * <p>Work is split into fixed-size partitions that run in parallel, each with its own {@link Faker} and {@link Random}
+ * seeded from the dataset seed and the partition number. The generated roster therefore depends only on the seed, the
+ * count and the locale, never on the number of threads, and the same seed always reproduces the same employees,
+ * including their ids.
+ */
+@Slf4j
+public class MockEmployeeGenerator {
+
+    static final int PARTITION_SIZE = 10_000;
+
+    private final Locale locale;
+    private final long seed;
+    private final int threads;
+
+    public MockEmployeeGenerator(Locale locale, long seed, int threads) {
+        this.locale = locale;
+        this.seed = seed;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * @return {@code count} employees in partition order
+     */
+    public List<MockEmployee> generate(int count) {
+        final var start = System.nanoTime();
+        final var partitions = (count + PARTITION_SIZE - 1) / PARTITION_SIZE;
+        final var workers = Math.max(1, Math.min(threads, partitions));
+        final var threadCount = new AtomicInteger();
+        final var executor = Executors.newFixedThreadPool(workers, runnable -> {
+            final var thread = new Thread(runnable, "mock-employee-generator-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final var futures = new ArrayList<Future<List<MockEmployee>>>(partitions);
+            for (int partition = 0; partition < partitions; partition++) {
+                final var index = partition;
+                final var size = Math.min(PARTITION_SIZE, count - partition * PARTITION_SIZE);
+                futures.add(executor.submit(() -> generatePartition(index, size)));
+            }
+            final var employees = new ArrayList<MockEmployee>(count);
+            for (final var future : futures) {
+                employees.addAll(future.get());
+            }
+            log.info(
+                    "Generated {} employees with seed {} in {} ms ({} partitions on {} threads)",
+                    count,
+                    seed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    partitions,
+                    workers);
+            return employees;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating mock employees", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to generate mock employees", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<MockEmployee> generatePartition(int partition, int size) {
+        final var random = new Random(partitionSeed(partition));
+        final var faker = new Faker(locale, random);
+        final var employees = new ArrayList<MockEmployee>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(randomUuid(random))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()))
+                    .build());
+        }
+        return employees;
+    }
+
+    /*
+     * Neighbouring java.util.Random seeds produce correlated first values, so partition seeds are spread with the
+     * SplitMix64 finalizer.
+     */
+    private long partitionSeed(int partition) {
+        long z = seed + (partition + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static UUID randomUuid(Random random) {
+        final var mostSignificant = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final var leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
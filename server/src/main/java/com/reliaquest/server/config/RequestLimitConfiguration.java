@@ -0,0 +1,56 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.web.RequestLimitInterceptor;
+import com.reliaquest.server.web.RequestLimitPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Rate limits the mock API as configured under {@code mock.limit}.
+ *
+ * <p>With {@code random} set, the default, the limit and window are drawn like the mock API always did: 5 to 9
+ * requests and a 30 to 89 second cool-down. A configured {@code seed} makes the draw, and so a load test,
+ * reproducible; without one the drawn values are logged. Otherwise {@code requests} and {@code window} are used as
+ * given.
+ *
+ * <p>The change feed is exempt: a subscriber holds one long-lived request, and reconnects only when it drops.
+ */
+@Slf4j
+@Configuration
+public class RequestLimitConfiguration implements WebMvcConfigurer {
+
+    private final RequestLimitInterceptor requestLimitInterceptor;
+
+    public RequestLimitConfiguration(
+            @Value("${mock.limit.policy:COOL_DOWN}") RequestLimitPolicy policy,
+            @Value("${mock.limit.key:GLOBAL}") RequestLimitInterceptor.Key key,
+            @Value("${mock.limit.random:true}") boolean random,
+            @Value("${mock.limit.seed:#{null}}") Long seed,
+            @Value("${mock.limit.requests:10}") int requests,
+            @Value("${mock.limit.window:60s}") Duration window,
+            @Value("${mock.limit.max-keys:10000}") int maxKeys,
+            @Value("${mock.limit.retry-after:false}") boolean retryAfter,
+            MeterRegistry meterRegistry) {
+        if (random) {
+            final RandomGenerator generator = seed != null ? new Random(seed) : RandomGenerator.getDefault();
+            requests = generator.nextInt(5, 10);
+            window = Duration.ofSeconds(generator.nextInt(30, 90));
+            log.info("Drew a random request limit of {} per {}", requests, window);
+        }
+        this.requestLimitInterceptor = new RequestLimitInterceptor(
+                policy, requests, window, key, maxKeys, retryAfter, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestLimitInterceptor)
+                .excludePathPatterns("/actuator/**", "/api/v1/employee/changes");
+    }
+}
@@ -1,27 +1,26 @@
 package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import com.reliaquest.server.store.MockEmployeeChangeLog;
+import com.reliaquest.server.store.MockEmployeePersistence;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
-public class ServerConfiguration implements WebMvcConfigurer {
+public class ServerConfiguration {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
@@ -31,29 +30,55 @@ public class ServerConfiguration implements WebMvcConfigurer {
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * This store is modifiable by design for CRUD operations. Without a configured seed a random one is used; it is
+     * logged so a dataset can be reproduced. With persistence the roster stored by an earlier run wins over the
+     * generator, which only fills an empty directory.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public MockEmployeeStore mockEmployeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.generator-threads:0}") int generatorThreads,
+            @Value("${mock.employees.lazy:false}") boolean lazy,
+            ObjectProvider<MockEmployeePersistence> persistenceProvider) {
+        final var generator = new MockEmployeeGenerator(
+                Locale.getDefault(),
+                seed != null ? seed : RandomGenerator.getDefault().nextLong(),
+                generatorThreads > 0 ? generatorThreads : Runtime.getRuntime().availableProcessors());
+        final var persistence = persistenceProvider.getIfAvailable();
+        final Supplier<List<MockEmployee>> generate = () -> generator.generate(maxEmployees);
+        final Supplier<List<MockEmployee>> roster =
+                persistence != null ? () -> persistence.load(generate) : generate;
+        final MockEmployeeStore store;
+        if (lazy) {
+            store = MockEmployeeStore.seededOnFirstAccess(roster);
+        } else {
+            store = new MockEmployeeStore();
+            roster.get().forEach(store::add);
+        }
+        if (persistence != null) {
+            persistence.attach(store);
+        }
+        return store;
     }
 
-    @Override
-    public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+    @Bean
+    public MockEmployeeChangeLog mockEmployeeChangeLog(
+            MockEmployeeStore mockEmployeeStore, @Value("${mock.changes.capacity:10000}") int capacity) {
+        final var changeLog = new MockEmployeeChangeLog(capacity);
+        changeLog.attach(mockEmployeeStore);
+        return changeLog;
+    }
+
+    /*
+     * Closed after the store's last request, which checkpoints the roster so the next start replays no journal.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mock.persistence.enabled", havingValue = "true")
+    public MockEmployeePersistence mockEmployeePersistence(
+            @Value("${mock.persistence.dir:data}") String directory,
+            @Value("${mock.persistence.fsync:false}") boolean fsync,
+            @Value("${mock.persistence.snapshot-interval:5m}") Duration snapshotInterval) {
+        return new MockEmployeePersistence(Path.of(directory), fsync, snapshotInterval);
     }
 }
@@ -1,34 +1,105 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.CreateMockEmployeeResult;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeChangeFeed;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    private static final int MAX_PAGE_SIZE = 10_000;
+
+    private static final int FLUSH_EVERY = 256;
+
+    private static final int MAX_BATCH_SIZE = 1_000;
+
     private final MockEmployeeService mockEmployeeService;
 
+    private final MockEmployeeChangeFeed mockEmployeeChangeFeed;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    /**
+     * Without {@code cursor} or {@code limit} the whole roster is returned, as before, tagged with a strong ETag; a
+     * request whose {@code If-None-Match} still matches gets an empty 304. With either, one page of at most
+     * {@code limit} employees following {@code cursor} is returned, plus the cursor for the next page while more remain.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            WebRequest webRequest) {
+        if (cursor == null && limit == null) {
+            final var entityTag = mockEmployeeService.getEntityTag();
+            if (webRequest.checkNotModified(entityTag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(entityTag).body(Response.handledWith(mockEmployeeService.getMockEmployees()));
+        }
+        final var pageSize = Math.max(1, Math.min(limit != null ? limit : MAX_PAGE_SIZE, MAX_PAGE_SIZE));
+        final var page = mockEmployeeService.getMockEmployeePage(cursor != null ? cursor : 0, pageSize);
+        return ResponseEntity.ok(Response.page(page.employees(), page.nextCursor()));
+    }
+
+    /**
+     * Streams the roster following {@code cursor} as newline-delimited JSON, one employee per line, without building
+     * the list or the envelope.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees(
+            @RequestParam(name = "cursor", defaultValue = "0") long cursor) {
+        final var employees = mockEmployeeService.getMockEmployeesAfter(cursor);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> writeNdjson(employees, outputStream));
+    }
+
+    /**
+     * Streams creates and deletes as Server-Sent Events, resuming after {@code Last-Event-ID}; the {@code lastEventId}
+     * parameter stands in for the header where a client cannot set it. Answers 503 while the subscriber limit is
+     * reached.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(name = "lastEventId", required = false) String lastEventId) {
+        return mockEmployeeChangeFeed
+                .subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
     }
 
     @GetMapping("/{id}")
@@ -44,8 +115,64 @@ public class MockEmployeeController {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    /**
+     * Creates up to {@value #MAX_BATCH_SIZE} employees in one request. Every entry is validated on its own and answered
+     * by a result at its index; the valid entries are inserted together, so readers see either none or all of them.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Response<List<CreateMockEmployeeResult>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("At most %d employees can be created per batch".formatted(MAX_BATCH_SIZE)));
+        }
+        final var results = new CreateMockEmployeeResult[inputs.size()];
+        final var valid = new ArrayList<CreateMockEmployeeInput>(inputs.size());
+        final var validIndexes = new int[inputs.size()];
+        for (int i = 0; i < inputs.size(); i++) {
+            final var errors = validate(inputs.get(i));
+            if (errors.isEmpty()) {
+                validIndexes[valid.size()] = i;
+                valid.add(inputs.get(i));
+            } else {
+                results[i] = CreateMockEmployeeResult.rejected(i, errors);
+            }
+        }
+        final var created = mockEmployeeService.createAll(valid);
+        for (int i = 0; i < created.size(); i++) {
+            results[validIndexes[i]] = CreateMockEmployeeResult.created(validIndexes[i], created.get(i));
+        }
+        return ResponseEntity.ok(Response.handledWith(List.of(results)));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    private List<String> validate(CreateMockEmployeeInput input) {
+        if (input == null) {
+            return List.of("entry must not be null");
+        }
+        return validator.validate(input).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    private void writeNdjson(Iterable<MockEmployee> employees, OutputStream outputStream) throws IOException {
+        final var writer =
+                objectMapper.writerFor(MockEmployee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (final var generator = writer.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            int written = 0;
+            for (final var employee : employees) {
+                writer.writeValue(generator, employee);
+                generator.writeRaw('\n');
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * Outcome of one entry of a batch create: the created employee, or the reasons the entry was rejected.
+ *
+ * @param index position of the entry in the request
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CreateMockEmployeeResult(int index, MockEmployee employee, List<String> errors) {
+
+    public static CreateMockEmployeeResult created(int index, MockEmployee employee) {
+        return new CreateMockEmployeeResult(index, employee, null);
+    }
+
+    public static CreateMockEmployeeResult rejected(int index, List<String> errors) {
+        return new CreateMockEmployeeResult(index, null, errors);
+    }
+}
@@ -0,0 +1,121 @@
+package com.reliaquest.server.service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Publishes the roster's change log as a Server-Sent Events stream, one {@code change} event per create or delete.
+ *
+ * <p>Each event carries its change id, so a client that reconnects with {@code Last-Event-ID} resumes right after the
+ * last change it saw. When that cannot be done, because the id is missing, from an earlier server run or too old to be
+ * kept, the stream starts with a {@code reset} event instead: the client reloads the roster and applies what follows.
+ * A {@code heartbeat} event is sent whenever no change came for {@code mock.changes.heartbeat}, which tells the client
+ * it has seen every change up to now.
+ *
+ * <p>Every subscriber is served by a thread of its own, which blocks on the log while no change comes and on the
+ * socket while the client reads slowly, so no subscriber holds back another. Their number is capped at
+ * {@code mock.changes.max-subscribers}.
+ */
+@Slf4j
+@Service
+public class MockEmployeeChangeFeed {
+
+    private static final int MAX_BATCH = 256;
+
+    private final MockEmployeeService mockEmployeeService;
+    private final Duration heartbeat;
+    private final Duration timeout;
+    private final int maxSubscribers;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ExecutorService senders;
+
+    public MockEmployeeChangeFeed(
+            MockEmployeeService mockEmployeeService,
+            @Value("${mock.changes.heartbeat:2s}") Duration heartbeat,
+            @Value("${mock.changes.timeout:30m}") Duration timeout,
+            @Value("${mock.changes.max-subscribers:100}") int maxSubscribers) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+        this.maxSubscribers = maxSubscribers;
+        final var threads = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(runnable -> {
+            final var thread = new Thread(runnable, "mock-employee-changes-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param lastEventId id of the last change the client saw, or {@code null}
+     * @return the stream, or empty if there are already {@code mock.changes.max-subscribers} subscribers
+     */
+    public Optional<SseEmitter> subscribe(String lastEventId) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            return Optional.empty();
+        }
+        final var emitter = new SseEmitter(timeout.toMillis());
+        final var open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(e -> open.set(false));
+        senders.execute(() -> {
+            try {
+                send(emitter, open, mockEmployeeService.getChangeSequence(lastEventId));
+            } finally {
+                subscribers.decrementAndGet();
+            }
+        });
+        return Optional.of(emitter);
+    }
+
+    @PreDestroy
+    public void close() {
+        senders.shutdownNow();
+    }
+
+    private void send(SseEmitter emitter, AtomicBoolean open, long sequence) {
+        try {
+            var after = sequence;
+            while (open.get()) {
+                final var changes =
+                        after < 0 ? null : mockEmployeeService.awaitChangesAfter(after, MAX_BATCH, heartbeat);
+                if (changes == null) {
+                    after = mockEmployeeService.getLatestChange();
+                    emitter.send(SseEmitter.event()
+                            .name("reset")
+                            .id(mockEmployeeService.getChangeId(after))
+                            .data(after));
+                } else if (changes.isEmpty()) {
+                    emitter.send(SseEmitter.event().name("heartbeat").data(after));
+                } else {
+                    for (final var change : changes) {
+                        emitter.send(SseEmitter.event()
+                                .name("change")
+                                .id(mockEmployeeService.getChangeId(change.sequence()))
+                                .data(change, MediaType.APPLICATION_JSON));
+                        after = change.sequence();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // the client went away, or the stream timed out and was completed under us
+            log.debug("Change feed subscriber left: {}", e.getMessage());
+        }
+    }
+}
@@ -4,11 +4,13 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.MockEmployeeChangeLog;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.time.Duration;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.random.RandomGenerator;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,37 +24,107 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final MockEmployeeChangeLog mockEmployeeChangeLog;
+
+    /*
+     * Distinguishes data versions and change sequences of different server runs, which all count from zero.
+     */
+    private final String epoch = Long.toHexString(RandomGenerator.getDefault().nextLong());
+
+    /**
+     * @return strong entity tag of the current roster; it changes whenever an employee is created or deleted. Read it
+     *     before the roster itself, so a concurrent change can only make the tag older than the data, never newer.
+     */
+    public String getEntityTag() {
+        return "\"%s-%d\"".formatted(epoch, mockEmployeeStore.version());
+    }
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.list();
+    }
+
+    public MockEmployeeStore.Page getMockEmployeePage(long cursor, int limit) {
+        return mockEmployeeStore.page(cursor, limit);
+    }
+
+    public Iterable<MockEmployee> getMockEmployeesAfter(long cursor) {
+        return mockEmployeeStore.after(cursor);
+    }
+
+    /**
+     * @return the id under which the change with {@code sequence} is published, unique across server runs
+     */
+    public String getChangeId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * @return the sequence of the change published as {@code changeId} in this server run, or -1 if it was published
+     *     by another run or is not a change id at all
+     */
+    public long getChangeSequence(String changeId) {
+        final var prefix = epoch + "-";
+        if (changeId == null || !changeId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Math.max(-1, Long.parseLong(changeId.substring(prefix.length())));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public long getLatestChange() {
+        return mockEmployeeChangeLog.latest();
+    }
+
+    /**
+     * @see MockEmployeeChangeLog#await
+     */
+    public List<MockEmployeeChangeLog.Change> awaitChangesAfter(long sequence, int max, Duration timeout)
+            throws InterruptedException {
+        return mockEmployeeChangeLog.await(sequence, max, timeout);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+        final var mockEmployee = newEmployee(input);
+        mockEmployeeStore.add(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Creates all of {@code inputs} in one atomic store update.
+     *
+     * @return the created employees, in the order of {@code inputs}
+     */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var mockEmployees = inputs.stream().map(this::newEmployee).toList();
+        mockEmployeeStore.addAll(mockEmployees);
+        log.debug("Added {} employees", mockEmployees.size());
+        return mockEmployees;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
+        final var mockEmployee = mockEmployeeStore.removeFirstByName(input.getName());
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }
 
         return false;
     }
+
+    private MockEmployee newEmployee(CreateMockEmployeeInput input) {
+        return MockEmployee.from(
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()),
+                input);
+    }
 }
@@ -0,0 +1,129 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ordered log of the most recent creates and deletes applied to a {@link MockEmployeeStore}, numbered from 1.
+ *
+ * <p>Only the last {@code capacity} changes are kept, in a ring. A reader resumes from the sequence of the last change
+ * it saw, and learns when that is too old to be resumed from, in which case it has to start over from the full roster.
+ *
+ * <p>The store may report a delete just ahead of the create it undoes, when the two race. A create is therefore only
+ * logged while its employee is still in the store, checked under the log's lock: a delete that runs after the check
+ * is logged after the create, and one that ran before it leaves nothing to log.
+ */
+public class MockEmployeeChangeLog implements MockEmployeeStore.ChangeListener {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Change[] changes;
+
+    private MockEmployeeStore store;
+    private long latest;
+
+    public MockEmployeeChangeLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.changes = new Change[capacity];
+    }
+
+    public void attach(MockEmployeeStore store) {
+        this.store = store;
+        store.addChangeListener(this);
+    }
+
+    @Override
+    public void added(List<MockEmployee> employees) {
+        lock.lock();
+        try {
+            for (final var employee : employees) {
+                if (store.contains(employee.getId())) {
+                    append(Op.CREATED, employee);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void removed(MockEmployee employee) {
+        lock.lock();
+        try {
+            append(Op.DELETED, employee);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the sequence of the latest change, or 0 before the first
+     */
+    public long latest() {
+        lock.lock();
+        try {
+            return latest;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code max} changes following {@code after}, waiting up to {@code timeout} for one if there are
+     * none yet.
+     *
+     * @return the changes in order, empty if none came within {@code timeout}, or {@code null} if {@code after} is no
+     *     longer kept or was never handed out, so the changes following it cannot be told
+     */
+    public List<Change> await(long after, int max, Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            var nanos = timeout.toNanos();
+            while (after == latest && nanos > 0) {
+                nanos = appended.awaitNanos(nanos);
+            }
+            if (after < oldest() - 1 || after > latest) {
+                return null;
+            }
+            final var count = (int) Math.min(max, latest - after);
+            final var following = new ArrayList<Change>(count);
+            for (long sequence = after + 1; following.size() < count; sequence++) {
+                following.add(changes[slot(sequence)]);
+            }
+            return following;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void append(Op op, MockEmployee employee) {
+        latest++;
+        changes[slot(latest)] = new Change(latest, op, employee);
+        appended.signalAll();
+    }
+
+    private long oldest() {
+        return Math.max(1, latest - changes.length + 1);
+    }
+
+    private int slot(long sequence) {
+        return (int) ((sequence - 1) % changes.length);
+    }
+
+    public enum Op {
+        CREATED,
+        DELETED
+    }
+
+    /**
+     * @param employee the employee created, or as it was when deleted
+     */
+    public record Change(long sequence, Op op, MockEmployee employee) {}
+}
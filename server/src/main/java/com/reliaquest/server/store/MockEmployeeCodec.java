@@ -0,0 +1,79 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Compact binary form of a {@link MockEmployee}, shared by the journal and the snapshot files.
+ *
+ * <p>The id is two longs, strings are a length followed by UTF-8 bytes with -1 for null, and a flags byte says which of
+ * salary and age follow. Everything is big-endian, the order of both {@link DataOutput} and a fresh {@link ByteBuffer}.
+ */
+final class MockEmployeeCodec {
+
+    private static final int HAS_SALARY = 1;
+    private static final int HAS_AGE = 2;
+
+    private MockEmployeeCodec() {}
+
+    static void write(DataOutput out, MockEmployee employee) throws IOException {
+        writeId(out, employee.getId());
+        writeString(out, employee.getName());
+        writeString(out, employee.getTitle());
+        writeString(out, employee.getEmail());
+        final var flags = (employee.getSalary() != null ? HAS_SALARY : 0) | (employee.getAge() != null ? HAS_AGE : 0);
+        out.writeByte(flags);
+        if (employee.getSalary() != null) {
+            out.writeInt(employee.getSalary());
+        }
+        if (employee.getAge() != null) {
+            out.writeInt(employee.getAge());
+        }
+    }
+
+    static MockEmployee read(ByteBuffer in) {
+        final var builder =
+                MockEmployee.builder().id(readId(in)).name(readString(in)).title(readString(in)).email(readString(in));
+        final var flags = in.get();
+        if ((flags & HAS_SALARY) != 0) {
+            builder.salary(in.getInt());
+        }
+        if ((flags & HAS_AGE) != 0) {
+            builder.age(in.getInt());
+        }
+        return builder.build();
+    }
+
+    static void writeId(DataOutput out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    static UUID readId(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        final var length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
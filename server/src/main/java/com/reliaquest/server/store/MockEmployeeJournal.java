@@ -0,0 +1,233 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only write-ahead log of the creates and deletes applied to a {@link MockEmployeeStore} since its last
+ * snapshot.
+ *
+ * <p>Each record is framed by its length and a CRC32C checksum, so a record torn by a crash mid-write is detected on
+ * replay and ends it there. A batch of creates is one record and therefore replays entirely or not at all. Appends go
+ * straight to the file channel: an appended change survives a crash of the server, and with {@code fsync} also a
+ * crash of the machine, at the cost of a disk flush per change.
+ *
+ * <p>An append that fails is cut off the file again, so neither a torn record that would end every later replay nor a
+ * complete one whose change was never applied is left behind. If even that fails, the journal refuses every further
+ * append until it is rotated onto a new file.
+ */
+@Slf4j
+class MockEmployeeJournal implements AutoCloseable {
+
+    private static final byte CREATED = 1;
+    private static final byte DELETED = 2;
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int MAX_RECORD_BYTES = 64 << 20;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private final CRC32C checksum = new CRC32C();
+    private final boolean fsync;
+    private final Opener opener;
+
+    private FileChannel channel;
+    private long appended;
+    private IOException failure;
+
+    MockEmployeeJournal(Path file, boolean fsync) throws IOException {
+        this(file, fsync, MockEmployeeJournal::open);
+    }
+
+    MockEmployeeJournal(Path file, boolean fsync, Opener opener) throws IOException {
+        this.fsync = fsync;
+        this.opener = opener;
+        this.channel = opener.open(file);
+    }
+
+    void created(Collection<MockEmployee> employees) {
+        append(CREATED, out -> {
+            out.writeInt(employees.size());
+            for (final var employee : employees) {
+                MockEmployeeCodec.write(out, employee);
+            }
+        });
+    }
+
+    void deleted(UUID id) {
+        append(DELETED, out -> MockEmployeeCodec.writeId(out, id));
+    }
+
+    /**
+     * Continues the log in {@code file}; the current file is closed as it is and left for the caller to delete once a
+     * snapshot covers it.
+     */
+    void rotate(Path file) throws IOException {
+        lock.lock();
+        try {
+            final var next = opener.open(file);
+            channel.close();
+            channel = next;
+            appended = 0;
+            failure = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of records appended since the journal was opened or last rotated
+     */
+    long appended() {
+        lock.lock();
+        try {
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Feeds the records of {@code file} to {@code replay} in order, stopping at the end of the file or at the first
+     * record that is incomplete or fails its checksum.
+     *
+     * @return the number of records replayed
+     */
+    static long replay(Path file, Replay replay) throws IOException {
+        long records = 0;
+        try (final var in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            final var checksum = new CRC32C();
+            final var header = new byte[HEADER_BYTES];
+            while (true) {
+                final var read = in.readNBytes(header, 0, HEADER_BYTES);
+                if (read == 0) {
+                    return records;
+                }
+                final var length = read == HEADER_BYTES ? ByteBuffer.wrap(header).getInt(0) : -1;
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    log.warn("Journal {} is cut short or corrupt after {} records; ignoring the rest", file, records);
+                    return records;
+                }
+                final var body = in.readNBytes(length);
+                checksum.reset();
+                checksum.update(body);
+                if (body.length < length || (int) checksum.getValue() != ByteBuffer.wrap(header).getInt(4)) {
+                    log.warn("Journal {} ends in a torn record after {} records; ignoring it", file, records);
+                    return records;
+                }
+                apply(ByteBuffer.wrap(body), replay);
+                records++;
+            }
+        }
+    }
+
+    private static void apply(ByteBuffer body, Replay replay) {
+        final var type = body.get();
+        if (type == CREATED) {
+            final var count = body.getInt();
+            for (int i = 0; i < count; i++) {
+                replay.created(MockEmployeeCodec.read(body));
+            }
+        } else if (type == DELETED) {
+            replay.deleted(MockEmployeeCodec.readId(body));
+        } else {
+            throw new IllegalStateException("Unknown journal record type " + type);
+        }
+    }
+
+    private void append(byte type, RecordWriter writer) {
+        lock.lock();
+        var start = -1L;
+        try {
+            if (failure != null) {
+                throw new IOException("The journal could not be repaired after an earlier failed append", failure);
+            }
+            record.reset();
+            recordOut.writeByte(type);
+            writer.write(recordOut);
+            final var body = record.toByteArray();
+            checksum.reset();
+            checksum.update(body);
+            final var buffer = ByteBuffer.allocate(HEADER_BYTES + body.length)
+                    .putInt(body.length)
+                    .putInt((int) checksum.getValue())
+                    .put(body)
+                    .flip();
+            start = channel.size();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+            appended++;
+        } catch (IOException e) {
+            if (start >= 0) {
+                cutBack(start, e);
+            }
+            throw new UncheckedIOException("Failed to append to the journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cutBack(long size, IOException cause) {
+        try {
+            channel.truncate(size);
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+            failure = cause;
+            log.error("Journal could not be cut back after a failed append; refusing further appends", e);
+        }
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @FunctionalInterface
+    interface Opener {
+
+        FileChannel open(Path file) throws IOException;
+    }
+
+    interface Replay {
+
+        void created(MockEmployee employee);
+
+        void deleted(UUID id);
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,234 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps a {@link MockEmployeeStore} on disk across restarts, as numbered generations of a snapshot plus a journal.
+ *
+ * <p>{@code snapshot-<n>.bin} holds the roster as it was when generation {@code n} began, and {@code journal-<n>.log}
+ * the changes made during it. A checkpoint starts generation {@code n + 1}: it copies the roster and rotates the
+ * journal in one step while the store is held exclusively, then writes the copy as the new snapshot outside of it, and
+ * only then deletes the files of older generations. Recovery loads the newest snapshot and replays every journal from
+ * its generation on, so a crash at any point of a checkpoint loses nothing that was logged. Each start continues in a
+ * new generation, which leaves a journal cut short by a crash untouched.
+ *
+ * <p>The journal is the store's {@link MockEmployeeStore.WriteAheadLog}: a change is appended before the store applies
+ * it, and one that cannot be appended fails without being applied, so nothing is visible that would be lost on a
+ * restart.
+ *
+ * <p>Checkpoints run every {@code snapshotInterval} when the journal has grown, and once more on {@link #close}, so a
+ * clean restart replays nothing.
+ */
+@Slf4j
+public class MockEmployeePersistence implements MockEmployeeStore.WriteAheadLog, AutoCloseable {
+
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d+)\\.bin");
+    private static final Pattern JOURNAL = Pattern.compile("journal-(\\d+)\\.log");
+
+    private final Path directory;
+    private final boolean fsync;
+    private final Duration snapshotInterval;
+    private final ScheduledExecutorService scheduler;
+
+    private MockEmployeeJournal journal;
+    private MockEmployeeStore store;
+    private long generation;
+
+    public MockEmployeePersistence(Path directory, boolean fsync, Duration snapshotInterval) {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.snapshotInterval = snapshotInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "mock-employee-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Recovers the roster from {@link #directory}, or if nothing is stored there yet takes it from {@code seed} and
+     * writes it as the first snapshot. Either way a new journal generation is opened.
+     *
+     * @return the roster in insertion order
+     */
+    public List<MockEmployee> load(Supplier<? extends List<MockEmployee>> seed) {
+        try {
+            Files.createDirectories(directory);
+            final var snapshots = generations(SNAPSHOT);
+            final var journals = generations(JOURNAL);
+            generation = Math.max(latest(snapshots), latest(journals)) + 1;
+            final List<MockEmployee> roster;
+            if (snapshots.isEmpty()) {
+                roster = seed.get();
+                MockEmployeeSnapshotFile.write(snapshot(generation), roster);
+                log.info("Stored {} generated employees in {}", roster.size(), directory);
+            } else {
+                roster = recover(snapshots.last());
+            }
+            journal = new MockEmployeeJournal(journal(generation), fsync);
+            return roster;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load the employees stored in " + directory, e);
+        }
+    }
+
+    /**
+     * Starts logging the changes made through {@code store} and checkpointing it periodically.
+     */
+    public void attach(MockEmployeeStore store) {
+        this.store = store;
+        store.setWriteAheadLog(this);
+        final var period = snapshotInterval.toMillis();
+        if (period > 0) {
+            scheduler.scheduleWithFixedDelay(this::checkpointQuietly, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void added(List<MockEmployee> employees) {
+        journal.created(employees);
+    }
+
+    @Override
+    public void removed(MockEmployee employee) {
+        journal.deleted(employee.getId());
+    }
+
+    /**
+     * Writes a new snapshot if anything was logged since the last one, and deletes the files it supersedes.
+     */
+    public synchronized void checkpoint() throws IOException {
+        if (store == null || journal == null || journal.appended() == 0) {
+            return;
+        }
+        final var start = System.nanoTime();
+        final var next = generation + 1;
+        final var roster = store.exclusively(employees -> {
+            try {
+                journal.rotate(journal(next));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return employees;
+        });
+        generation = next;
+        MockEmployeeSnapshotFile.write(snapshot(next), roster);
+        for (final var older : generations(SNAPSHOT).headSet(next)) {
+            Files.deleteIfExists(snapshot(older));
+        }
+        for (final var older : generations(JOURNAL).headSet(next)) {
+            Files.deleteIfExists(journal(older));
+        }
+        log.info(
+                "Checkpointed {} employees as generation {} in {} ms",
+                roster.size(),
+                next,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        if (journal == null) {
+            return;
+        }
+        checkpoint();
+        journal.close();
+    }
+
+    private List<MockEmployee> recover(long snapshotGeneration) throws IOException {
+        final var start = System.nanoTime();
+        final var roster = new LinkedHashMap<UUID, MockEmployee>();
+        for (final var employee : MockEmployeeSnapshotFile.read(snapshot(snapshotGeneration))) {
+            roster.put(employee.getId(), employee);
+        }
+        final var loaded = roster.size();
+        long records = 0;
+        // ids are never reused, so a delete found ahead of its create still wins over it
+        final Set<UUID> deleted = new HashSet<>();
+        final var replay = new MockEmployeeJournal.Replay() {
+
+            @Override
+            public void created(MockEmployee employee) {
+                if (!deleted.contains(employee.getId())) {
+                    roster.putIfAbsent(employee.getId(), employee);
+                }
+            }
+
+            @Override
+            public void deleted(UUID id) {
+                if (roster.remove(id) == null) {
+                    deleted.add(id);
+                }
+            }
+        };
+        for (final var journalGeneration : generations(JOURNAL).tailSet(snapshotGeneration)) {
+            final var replayed = MockEmployeeJournal.replay(journal(journalGeneration), replay);
+            if (replayed == 0) {
+                // left by a start without changes; nothing to keep
+                Files.deleteIfExists(journal(journalGeneration));
+            }
+            records += replayed;
+        }
+        log.info(
+                "Recovered {} employees from {}: {} from snapshot {} and {} journal records, in {} ms",
+                roster.size(),
+                directory,
+                loaded,
+                snapshotGeneration,
+                records,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return new ArrayList<>(roster.values());
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (IOException | RuntimeException e) {
+            log.error("Checkpoint of the employees in {} failed; the journal keeps every change", directory, e);
+        }
+    }
+
+    private TreeSet<Long> generations(Pattern fileName) throws IOException {
+        final var generations = new TreeSet<Long>();
+        try (final var files = Files.list(directory)) {
+            files.forEach(file -> {
+                final var matcher = fileName.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    generations.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        return generations;
+    }
+
+    private static long latest(TreeSet<Long> generations) {
+        return generations.isEmpty() ? 0 : generations.last();
+    }
+
+    private Path snapshot(long generation) {
+        return directory.resolve("snapshot-" + generation + ".bin");
+    }
+
+    private Path journal(long generation) {
+        return directory.resolve("journal-" + generation + ".log");
+    }
+}
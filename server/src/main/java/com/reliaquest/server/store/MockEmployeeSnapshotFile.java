@@ -0,0 +1,106 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compact binary snapshot of the whole roster, in insertion order.
+ *
+ * <p>A header with a magic number, the format version and the employee count is followed by one length-prefixed
+ * {@link MockEmployeeCodec} record per employee. Snapshots are written to a temporary file, forced to disk and then
+ * renamed into place, so a snapshot file is either complete or absent. They are read through memory-mapped windows of
+ * up to {@value #WINDOW_BYTES} bytes: the kernel pages the file straight into the mapping, without copying it through a
+ * stream buffer, and files beyond the 2 GiB limit of a single mapping still load.
+ */
+final class MockEmployeeSnapshotFile {
+
+    private static final int MAGIC = 0x4D454D50;
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = Integer.BYTES * 3;
+    private static final long WINDOW_BYTES = 1L << 30;
+
+    private MockEmployeeSnapshotFile() {}
+
+    static void write(Path file, Collection<MockEmployee> employees) throws IOException {
+        final var temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (final var channel = FileChannel.open(
+                temporary,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeInt(employees.size());
+            final var record = new ByteArrayOutputStream(256);
+            final var recordOut = new DataOutputStream(record);
+            for (final var employee : employees) {
+                record.reset();
+                MockEmployeeCodec.write(recordOut, employee);
+                out.writeInt(record.size());
+                record.writeTo(out);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static List<MockEmployee> read(Path file) throws IOException {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final var size = channel.size();
+            var window = map(channel, 0, size);
+            if (size < HEADER_BYTES || window.getInt() != MAGIC) {
+                throw new IOException(file + " is not an employee snapshot");
+            }
+            if (window.getInt() != FORMAT) {
+                throw new IOException(file + " has an unsupported snapshot format");
+            }
+            final var count = window.getInt();
+            if (count < 0) {
+                throw new IOException(file + " has a negative employee count");
+            }
+            final var employees = new ArrayList<MockEmployee>(count);
+            long windowStart = 0;
+            for (int i = 0; i < count; i++) {
+                if (window.remaining() < Integer.BYTES
+                        || window.remaining() < Integer.BYTES + window.getInt(window.position())) {
+                    windowStart += window.position();
+                    if (size - windowStart < Integer.BYTES) {
+                        throw new IOException(file + " ends after " + i + " of " + count + " employees");
+                    }
+                    window = map(channel, windowStart, size);
+                }
+                final var length = window.getInt();
+                final var end = window.position() + length;
+                try {
+                    employees.add(MockEmployeeCodec.read(window));
+                } catch (BufferUnderflowException e) {
+                    throw new IOException(file + " is cut short in employee " + i, e);
+                }
+                if (window.position() != end) {
+                    throw new IOException(file + " has a malformed record for employee " + i);
+                }
+            }
+            return employees;
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_BYTES, size - position));
+    }
+}
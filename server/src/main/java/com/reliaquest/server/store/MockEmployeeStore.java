@@ -0,0 +1,366 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/**
+ * Thread-safe employee store keyed by id, with a secondary case-insensitive name index.
+ *
+ * <p>Every employee is stamped with an insertion sequence. Listing walks the sequence order, so it matches the order
+ * of the former backing list, and a name lookup resolves to the oldest employee with that name, exactly like the
+ * previous first-match scan. The structures are concurrent maps, and reads take no lock.
+ *
+ * <p>Every add, single or batch, reserves a range of sequences and writes its employees first, then publishes the
+ * range by moving a watermark over it, in sequence order. Reads only see employees at or below the watermark, so a
+ * batch becomes visible all at once and no caller sees part of it. Only a remove can change a published employee, so
+ * every read sees a roster that existed at some point, though a listing may miss a remove that races with it.
+ *
+ * <p>Every successful add or remove bumps {@link #version()}, so an unchanged version means an unchanged roster.
+ *
+ * <p>A store created with {@link #seededOnFirstAccess} fills itself from its seed the first time any method is called;
+ * concurrent first callers wait for the seed to be loaded.
+ *
+ * <p>A {@link WriteAheadLog} is told of every add and remove before it is applied; when it throws, the change is not
+ * applied and the exception reaches the caller. Since a remove can only find an employee once it was
+ * added, the log always sees a delete after the create it undoes.
+ *
+ * <p>{@link ChangeListener}s hear of every successful add and remove before the call returns. Changes share a gate
+ * that only {@link #exclusively} closes, so it never runs while a change is logged but not yet applied and heard of;
+ * reads never touch the gate, and changes do not exclude each other through it. Seeding is not reported.
+ * Changes to different employees may be heard of concurrently and, when they race, not in the order they were applied;
+ * a remove can even be heard of before the add it undoes.
+ */
+public class MockEmployeeStore {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, MockEmployee> bySequence = new ConcurrentSkipListMap<>();
+    private final ReadWriteLock changeGate = new ReentrantReadWriteLock();
+    private final ReentrantLock seedLock = new ReentrantLock();
+
+    // highest sequence up to which every reserved range has been written
+    private volatile long published;
+
+    /*
+     * Emptied name buckets are kept rather than removed; dropping them would race with a concurrent add that already
+     * looked the bucket up.
+     */
+    private final Map<String, ConcurrentNavigableMap<Long, UUID>> byName = new ConcurrentHashMap<>();
+
+    private volatile Supplier<? extends Collection<MockEmployee>> pendingSeed;
+    private volatile WriteAheadLog writeAheadLog = WriteAheadLog.NONE;
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    public static MockEmployeeStore seededOnFirstAccess(@NonNull Supplier<? extends Collection<MockEmployee>> seed) {
+        final var store = new MockEmployeeStore();
+        store.pendingSeed = seed;
+        return store;
+    }
+
+    public void addChangeListener(@NonNull ChangeListener changeListener) {
+        changeListeners.add(changeListener);
+    }
+
+    public void setWriteAheadLog(@NonNull WriteAheadLog writeAheadLog) {
+        this.writeAheadLog = writeAheadLog;
+    }
+
+    /**
+     * A create is logged before its id is claimed, so when two adds race for the same id both are logged and only the
+     * first to insert is kept. Ids are random UUIDs, so this does not happen in practice.
+     */
+    public boolean add(@NonNull MockEmployee employee) {
+        return addAll(List.of(employee)) == 1;
+    }
+
+    /**
+     * Inserts {@code employees} in order as one atomic step, skipping any whose id is already taken. As with
+     * {@link #add}, an id claimed by a concurrent add after the batch was logged is skipped too.
+     *
+     * @return the number of employees inserted
+     */
+    public int addAll(@NonNull Collection<MockEmployee> employees) {
+        return changing(() -> {
+            final var fresh = new LinkedHashMap<UUID, MockEmployee>();
+            for (final var employee : employees) {
+                if (!byId.containsKey(employee.getId())) {
+                    fresh.putIfAbsent(employee.getId(), employee);
+                }
+            }
+            if (fresh.isEmpty()) {
+                return 0;
+            }
+            writeAheadLog.added(List.copyOf(fresh.values()));
+            final var inserted = insertAll(fresh.values());
+            if (!inserted.isEmpty()) {
+                changeListeners.forEach(listener -> listener.added(inserted));
+            }
+            return inserted.size();
+        });
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        awaitSeed();
+        final var entry = byId.get(id);
+        return isPublished(entry) ? Optional.of(entry.employee()) : Optional.empty();
+    }
+
+    public Optional<MockEmployee> remove(@NonNull UUID id) {
+        return changing(() -> delete(id));
+    }
+
+    /**
+     * Runs {@code action} on a copy of the roster in insertion order while every other operation waits, e.g. to cut a
+     * checkpoint that no change can slip past.
+     */
+    public <T> T exclusively(@NonNull Function<List<MockEmployee>, T> action) {
+        awaitSeed();
+        changeGate.writeLock().lock();
+        try {
+            // with no change in flight, every reserved range is published
+            return action.apply(new ArrayList<>(bySequence.values()));
+        } finally {
+            changeGate.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the oldest employee whose name equals {@code name} ignoring case. Concurrent callers racing for the same
+     * employee each remove a different one, or nothing.
+     */
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        return changing(() -> {
+            final var bucket = byName.get(nameKey(name));
+            if (bucket == null) {
+                return Optional.empty();
+            }
+            // unpublished employees sort after every published one
+            for (var first = bucket.firstEntry();
+                    first != null && first.getKey() <= published;
+                    first = bucket.firstEntry()) {
+                final var removed = delete(first.getValue());
+                if (removed.isPresent()) {
+                    return removed;
+                }
+                bucket.remove(first.getKey(), first.getValue());
+            }
+            return Optional.empty();
+        });
+    }
+
+    /**
+     * @return a point-in-time copy of all employees in insertion order
+     */
+    public List<MockEmployee> list() {
+        awaitSeed();
+        return new ArrayList<>(bySequence.headMap(published, true).values());
+    }
+
+    /**
+     * @param cursor sequence of the last employee already seen, or 0 to start from the beginning
+     * @return up to {@code limit} employees following {@code cursor} in insertion order
+     */
+    public Page page(long cursor, int limit) {
+        awaitSeed();
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        long last = cursor;
+        for (final var entry : visibleAfter(cursor).entrySet()) {
+            if (employees.size() == limit) {
+                return new Page(employees, last);
+            }
+            employees.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Page(employees, null);
+    }
+
+    /**
+     * @return a live, weakly consistent view of the employees following {@code cursor} in insertion order, up to those
+     *     published when it was taken; iterating it copies nothing
+     */
+    public Iterable<MockEmployee> after(long cursor) {
+        awaitSeed();
+        return visibleAfter(cursor).values();
+    }
+
+    public int size() {
+        awaitSeed();
+        return size.get();
+    }
+
+    public long version() {
+        awaitSeed();
+        return version.get();
+    }
+
+    /*
+     * Lock-free, for listeners that hold a lock of their own while they check.
+     */
+    boolean contains(UUID id) {
+        return isPublished(byId.get(id));
+    }
+
+    /*
+     * Changes share the gate, so they run concurrently with each other and only exclusively() waits for them.
+     */
+    private <T> T changing(Supplier<T> operation) {
+        awaitSeed();
+        changeGate.readLock().lock();
+        try {
+            return operation.get();
+        } finally {
+            changeGate.readLock().unlock();
+        }
+    }
+
+    private boolean isPublished(Entry entry) {
+        return entry != null && entry.sequence() <= published;
+    }
+
+    private ConcurrentNavigableMap<Long, MockEmployee> visibleAfter(long cursor) {
+        final var upTo = published;
+        return bySequence.subMap(Math.min(cursor, upTo), false, upTo, true);
+    }
+
+    private Optional<MockEmployee> delete(UUID id) {
+        final var entry = byId.get(id);
+        if (!isPublished(entry)) {
+            return Optional.empty();
+        }
+        writeAheadLog.removed(entry.employee());
+        if (!byId.remove(id, entry)) {
+            // a concurrent remover won; its delete was logged too, and replaying a delete twice is harmless
+            return Optional.empty();
+        }
+        unlink(entry);
+        size.decrementAndGet();
+        version.incrementAndGet();
+        changeListeners.forEach(listener -> listener.removed(entry.employee()));
+        return Optional.of(entry.employee());
+    }
+
+    /*
+     * Reserves one sequence per employee and publishes the whole range once it is written, after every range reserved
+     * before it. Nothing between reserving and publishing blocks, so the wait for an earlier range is short. An
+     * unpublished employee cannot be found, so it cannot be removed before it is published either.
+     */
+    private List<MockEmployee> insertAll(Collection<MockEmployee> employees) {
+        final var first = sequence.getAndAdd(employees.size()) + 1;
+        final var inserted = new ArrayList<MockEmployee>(employees.size());
+        try {
+            var next = first;
+            for (final var employee : employees) {
+                final var entry = new Entry(next++, employee);
+                if (byId.putIfAbsent(employee.getId(), entry) != null) {
+                    continue;
+                }
+                bySequence.put(entry.sequence(), employee);
+                if (employee.getName() != null) {
+                    byName.computeIfAbsent(nameKey(employee.getName()), ignored -> new ConcurrentSkipListMap<>())
+                            .put(entry.sequence(), employee.getId());
+                }
+                inserted.add(employee);
+            }
+        } finally {
+            while (published != first - 1) {
+                Thread.yield();
+            }
+            size.addAndGet(inserted.size());
+            if (!inserted.isEmpty()) {
+                version.incrementAndGet();
+            }
+            published = first + employees.size() - 1;
+        }
+        return inserted;
+    }
+
+    private void awaitSeed() {
+        if (pendingSeed == null) {
+            return;
+        }
+        seedLock.lock();
+        try {
+            final var seed = pendingSeed;
+            if (seed != null) {
+                insertAll(seed.get());
+                pendingSeed = null;
+            }
+        } finally {
+            seedLock.unlock();
+        }
+    }
+
+    private void unlink(Entry entry) {
+        bySequence.remove(entry.sequence());
+        if (entry.employee().getName() != null) {
+            final var bucket = byName.get(nameKey(entry.employee().getName()));
+            if (bucket != null) {
+                bucket.remove(entry.sequence());
+            }
+        }
+    }
+
+    /*
+     * Upper then lower case mirrors String#equalsIgnoreCase, which compares characters in both cases.
+     */
+    private static String nameKey(String name) {
+        return name.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Records changes before the store applies them, e.g. to a journal; a change it throws on is not applied.
+     */
+    public interface WriteAheadLog {
+
+        WriteAheadLog NONE = new WriteAheadLog() {
+
+            @Override
+            public void added(List<MockEmployee> employees) {}
+
+            @Override
+            public void removed(MockEmployee employee) {}
+        };
+
+        void added(List<MockEmployee> employees);
+
+        void removed(MockEmployee employee);
+    }
+
+    /**
+     * Hears of changes made through the store, e.g. to publish them.
+     */
+    public interface ChangeListener {
+
+        void added(List<MockEmployee> employees);
+
+        void removed(MockEmployee employee);
+    }
+
+    /**
+     * @param nextCursor cursor for the following page, or {@code null} if this page reached the end
+     */
+    public record Page(List<MockEmployee> employees, Long nextCursor) {}
+
+    private record Entry(long sequence, MockEmployee employee) {}
+}
@@ -0,0 +1,145 @@
+package com.reliaquest.server.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Emulates a rate limited upstream: requests beyond the budget are answered with 429.
+ *
+ * <p>The budget is enforced by a {@link RequestLimitPolicy} and kept per {@link Key}. Checking a request costs one
+ * clock read and a compare-and-set on that key's state; budgets of different clients or routes never contend. Once
+ * {@code maxKeys} budgets exist, new keys share a single overflow budget rather than growing the map.
+ *
+ * <p>Publishes {@code mock.requests.rejected}, the configured limit and window ({@code mock.requests.limit},
+ * {@code mock.requests.backoff}) and, for a global budget, {@code mock.requests.remaining}.
+ */
+@Slf4j
+public class RequestLimitInterceptor implements HandlerInterceptor {
+
+    public enum Key {
+        /** One budget for all requests. */
+        GLOBAL,
+        /** One budget per client address. */
+        CLIENT,
+        /** One budget per handler method, i.e. per route and HTTP method. */
+        ROUTE
+    }
+
+    private static final int MAX_LIMIT = 0xFFFF;
+
+    private final RequestLimitPolicy policy;
+    private final int limit;
+    private final long windowNanos;
+    private final Key key;
+    private final int maxKeys;
+    private final boolean retryAfterHeader;
+    private final LongSupplier nanoClock;
+    private final long origin;
+    private final AtomicLong shared = new AtomicLong();
+    private final ConcurrentMap<Object, AtomicLong> keyed = new ConcurrentHashMap<>();
+    private final Counter rejected;
+
+    public RequestLimitInterceptor(
+            RequestLimitPolicy policy,
+            int limit,
+            Duration window,
+            Key key,
+            int maxKeys,
+            boolean retryAfterHeader,
+            MeterRegistry meterRegistry) {
+        this(policy, limit, window, key, maxKeys, retryAfterHeader, meterRegistry, System::nanoTime);
+    }
+
+    public RequestLimitInterceptor(
+            RequestLimitPolicy policy,
+            int limit,
+            Duration window,
+            Key key,
+            int maxKeys,
+            boolean retryAfterHeader,
+            MeterRegistry meterRegistry,
+            LongSupplier nanoClock) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Request limit must be between 1 and " + MAX_LIMIT + ": " + limit);
+        }
+        if (window.isZero() || window.isNegative()) {
+            throw new IllegalArgumentException("Request limit window must be positive: " + window);
+        }
+        this.policy = policy;
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.key = key;
+        this.maxKeys = maxKeys;
+        this.retryAfterHeader = retryAfterHeader;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        this.rejected = Counter.builder("mock.requests.rejected")
+                .description("Requests rejected with 429")
+                .register(meterRegistry);
+        if (key == Key.GLOBAL) {
+            Gauge.builder("mock.requests.remaining", this, RequestLimitInterceptor::remaining)
+                    .description("Requests left before the limit is hit")
+                    .register(meterRegistry);
+        }
+        Gauge.builder("mock.requests.limit", () -> limit).register(meterRegistry);
+        Gauge.builder("mock.requests.backoff", () -> window.toSeconds())
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        log.info("Limiting requests to {} per {} ({}, per {})", limit, window, policy, key);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final long now = nanoClock.getAsLong() - origin;
+        final long wait = policy.tryAcquire(stateFor(request, handler), now, limit, windowNanos);
+        if (wait == 0) {
+            return true;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        if (retryAfterHeader) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ceilSeconds(wait))));
+        }
+        rejected.increment();
+        return false;
+    }
+
+    private AtomicLong stateFor(HttpServletRequest request, Object handler) {
+        final Object budget = switch (key) {
+            case GLOBAL -> null;
+            case CLIENT -> request.getRemoteAddr();
+            case ROUTE -> handler;
+        };
+        if (budget == null) {
+            return shared;
+        }
+        final var state = keyed.get(budget);
+        if (state != null) {
+            return state;
+        }
+        if (keyed.size() >= maxKeys) {
+            return shared;
+        }
+        return keyed.computeIfAbsent(budget, ignored -> new AtomicLong());
+    }
+
+    private int remaining() {
+        return policy.remaining(shared.get(), nanoClock.getAsLong() - origin, limit, windowNanos);
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
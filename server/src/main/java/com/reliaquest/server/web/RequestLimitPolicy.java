@@ -0,0 +1,175 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * How a request budget of {@code limit} requests per {@code window} is enforced.
+ *
+ * <p>Each policy keeps the whole state of one budget packed into a single {@code long} and updates it with a
+ * compare-and-set loop, so checking a request takes no lock and allocates nothing. Times are nanoseconds relative to
+ * the limiter's start; a state of 0 is a fresh budget.
+ */
+public enum RequestLimitPolicy {
+
+    /**
+     * The mock API's original behavior: {@code limit} requests are admitted, then everything is rejected until
+     * {@code window} has passed since the last admitted request, after which the count starts over. The request that
+     * finds the cool-down over is admitted without being counted, as before.
+     */
+    COOL_DOWN {
+        private static final int COUNT_SHIFT = 48;
+        private static final long TIME_MASK = (1L << COUNT_SHIFT) - 1;
+
+        @Override
+        long tryAcquire(AtomicLong state, long now, int limit, long windowNanos) {
+            final long nowMicros = now / 1_000;
+            while (true) {
+                final long current = state.get();
+                final long count = current >>> COUNT_SHIFT;
+                final long next;
+                if (count < limit) {
+                    next = ((count + 1) << COUNT_SHIFT) | nowMicros;
+                } else {
+                    final long wait = (current & TIME_MASK) * 1_000 + windowNanos - now;
+                    if (wait > 0) {
+                        return wait;
+                    }
+                    next = nowMicros;
+                }
+                if (state.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        @Override
+        int remaining(long state, long now, int limit, long windowNanos) {
+            final long count = state >>> COUNT_SHIFT;
+            if (count < limit) {
+                return (int) (limit - count);
+            }
+            return (state & TIME_MASK) * 1_000 + windowNanos <= now ? limit : 0;
+        }
+    },
+
+    /**
+     * At most {@code limit} requests per aligned window of length {@code window}.
+     */
+    FIXED_WINDOW {
+        private static final int WINDOW_SHIFT = 24;
+        private static final long COUNT_MASK = (1L << WINDOW_SHIFT) - 1;
+
+        @Override
+        long tryAcquire(AtomicLong state, long now, int limit, long windowNanos) {
+            final long window = now / windowNanos;
+            while (true) {
+                final long current = state.get();
+                final long next;
+                if (current >>> WINDOW_SHIFT != window) {
+                    next = (window << WINDOW_SHIFT) | 1;
+                } else if ((current & COUNT_MASK) < limit) {
+                    next = current + 1;
+                } else {
+                    return (window + 1) * windowNanos - now;
+                }
+                if (state.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        @Override
+        int remaining(long state, long now, int limit, long windowNanos) {
+            if (state >>> WINDOW_SHIFT != now / windowNanos) {
+                return limit;
+            }
+            return (int) Math.max(0, limit - (state & COUNT_MASK));
+        }
+    },
+
+    /**
+     * Sliding window counter: the previous window's count, weighted by how much of it still overlaps the trailing
+     * {@code window}, plus the current window's count must stay below {@code limit}. Avoids the double burst a fixed
+     * window allows at its boundary, without keeping a log of request times.
+     */
+    SLIDING_WINDOW {
+        private static final long WINDOW_MASK = 0xFFFF_FFFFL;
+        private static final long COUNT_MASK = 0xFFFF;
+
+        @Override
+        long tryAcquire(AtomicLong state, long now, int limit, long windowNanos) {
+            final long window = (now / windowNanos) & WINDOW_MASK;
+            final long elapsed = now % windowNanos;
+            while (true) {
+                final long current = state.get();
+                final long rolled = roll(current, window);
+                final long previous = (rolled >>> 16) & COUNT_MASK;
+                final long count = rolled & COUNT_MASK;
+                if (previous * (windowNanos - elapsed) / windowNanos + count >= limit) {
+                    return windowNanos - elapsed;
+                }
+                if (state.compareAndSet(current, rolled + 1)) {
+                    return 0;
+                }
+            }
+        }
+
+        @Override
+        int remaining(long state, long now, int limit, long windowNanos) {
+            final long rolled = roll(state, (now / windowNanos) & WINDOW_MASK);
+            final long weighted = ((rolled >>> 16) & COUNT_MASK) * (windowNanos - now % windowNanos) / windowNanos;
+            return (int) Math.max(0, limit - weighted - (rolled & COUNT_MASK));
+        }
+
+        /*
+         * Layout: window index (32 bits) | previous window's count (16) | current window's count (16).
+         */
+        private static long roll(long state, long window) {
+            final long stateWindow = state >>> 32;
+            if (stateWindow == window) {
+                return state;
+            }
+            final long previous = stateWindow == ((window - 1) & WINDOW_MASK) ? state & COUNT_MASK : 0;
+            return (window << 32) | (previous << 16);
+        }
+    },
+
+    /**
+     * Token bucket holding up to {@code limit} tokens, refilled continuously at {@code limit} per {@code window}.
+     * Implemented as the generic cell rate algorithm, whose whole state is the theoretical arrival time of the next
+     * request.
+     */
+    TOKEN_BUCKET {
+        @Override
+        long tryAcquire(AtomicLong state, long now, int limit, long windowNanos) {
+            final long interval = Math.max(1, windowNanos / limit);
+            final long tolerance = interval * (limit - 1);
+            while (true) {
+                final long arrival = state.get();
+                final long base = Math.max(arrival, now);
+                if (base - now > tolerance) {
+                    return base - now - tolerance;
+                }
+                if (state.compareAndSet(arrival, base + interval)) {
+                    return 0;
+                }
+            }
+        }
+
+        @Override
+        int remaining(long state, long now, int limit, long windowNanos) {
+            final long interval = Math.max(1, windowNanos / limit);
+            final long backlog = Math.max(state, now) - now;
+            return (int) Math.max(0, Math.min(limit, limit - (backlog + interval - 1) / interval));
+        }
+    };
+
+    /**
+     * Counts the request against the budget if it fits.
+     *
+     * @return 0 if the request was admitted, otherwise how many nanoseconds to wait before a retry can succeed
+     */
+    abstract long tryAcquire(AtomicLong state, long now, int limit, long windowNanos);
+
+    abstract int remaining(long state, long now, int limit, long windowNanos);
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.server.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.HashSet;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    // two full partitions and a partial one
+    private static final int COUNT = 2 * MockEmployeeGenerator.PARTITION_SIZE + 5_000;
+
+    @Test
+    void generate_yieldsTheSameRosterWhateverTheNumberOfThreads() {
+        final var sequential = new MockEmployeeGenerator(Locale.US, 42, 1).generate(COUNT);
+        final var parallel = new MockEmployeeGenerator(Locale.US, 42, 4).generate(COUNT);
+
+        assertEquals(COUNT, sequential.size());
+        assertEquals(sequential, parallel);
+        assertEquals(COUNT, new HashSet<>(sequential.stream().map(MockEmployee::getId).toList()).size());
+    }
+
+    @Test
+    void generate_yieldsADifferentRosterForAnotherSeed() {
+        final var roster = new MockEmployeeGenerator(Locale.US, 42, 4).generate(1_000);
+        final var other = new MockEmployeeGenerator(Locale.US, 43, 4).generate(1_000);
+
+        assertEquals(roster, new MockEmployeeGenerator(Locale.US, 42, 2).generate(1_000));
+        assertNotEquals(roster.get(0).getId(), other.get(0).getId());
+    }
+}
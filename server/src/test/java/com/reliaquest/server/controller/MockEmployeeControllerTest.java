@@ -0,0 +1,129 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.MockEmployeeChangeLog;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class MockEmployeeControllerTest {
+
+    private static final String EMPLOYEES = "/api/v1/employee";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MockEmployeeStore store = new MockEmployeeStore();
+    private final MockEmployeeService service = new MockEmployeeService(null, store, new MockEmployeeChangeLog(16));
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new MockEmployeeController(service, null, objectMapper, null))
+                .build();
+    }
+
+    @Test
+    void getEmployees_pagesThroughTheRosterInInsertionOrder() throws Exception {
+        store.addAll(employees(1, 20));
+
+        final var first = page("?limit=10");
+        assertEquals(ids(1, 10), ids(first));
+        assertTrue(first.hasNonNull("next_cursor"));
+
+        // the second page ends exactly at the end of the roster, so there is no page after it
+        final var second = page("?limit=10&cursor=" + first.get("next_cursor").asLong());
+        assertEquals(ids(11, 20), ids(second));
+        assertFalse(second.has("next_cursor"));
+
+        final var past = page("?limit=10&cursor=" + (first.get("next_cursor").asLong() + 10));
+        assertEquals(List.of(), ids(past));
+        assertFalse(past.has("next_cursor"));
+    }
+
+    @Test
+    void getEmployees_capsThePageSize() throws Exception {
+        store.addAll(employees(1, 10_001));
+
+        final var capped = page("?limit=50000");
+        assertEquals(10_000, capped.get("data").size());
+        final var rest = page("?cursor=" + capped.get("next_cursor").asLong());
+        assertEquals(ids(10_001, 10_001), ids(rest));
+        assertFalse(rest.has("next_cursor"));
+
+        assertEquals(10_000, page("?cursor=0").get("data").size());
+        assertEquals(1, page("?limit=0").get("data").size());
+    }
+
+    @Test
+    void streamEmployees_writesOneEmployeePerLineFollowingTheCursor() throws Exception {
+        store.addAll(employees(1, 600));
+        final var cursor = store.page(0, 5).nextCursor();
+
+        final var result = mockMvc.perform(get(EMPLOYEES + "/stream").param("cursor", Long.toString(cursor)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        final var content = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertTrue(content.endsWith("\n"));
+        final var streamed = new ArrayList<String>();
+        for (final var line : content.split("\n")) {
+            final var employee = objectMapper.readTree(line);
+            streamed.add(employee.get("id").asText());
+            assertTrue(employee.hasNonNull("employee_name"), line);
+        }
+        assertEquals(ids(6, 600), streamed);
+    }
+
+    private JsonNode page(String query) throws Exception {
+        final var content = mockMvc.perform(get(EMPLOYEES + query))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(content);
+    }
+
+    private static List<String> ids(JsonNode page) {
+        final var ids = new ArrayList<String>();
+        page.get("data").forEach(employee -> ids.add(employee.get("id").asText()));
+        return ids;
+    }
+
+    private static List<String> ids(int first, int last) {
+        return employees(first, last).stream().map(employee -> employee.getId().toString()).toList();
+    }
+
+    private static List<MockEmployee> employees(int first, int last) {
+        final var employees = new ArrayList<MockEmployee>(last - first + 1);
+        for (int i = first; i <= last; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(new UUID(i, i))
+                    .name("Employee " + i)
+                    .salary(i * 1000)
+                    .age(20 + i % 40)
+                    .title("Title " + i % 4)
+                    .email("employee" + i + "@company.com")
+                    .build());
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,139 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.controller.MockEmployeeController;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.MockEmployeeChangeLog;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class MockEmployeeChangeFeedTest {
+
+    private static final String CHANGES = "/api/v1/employee/changes";
+
+    private final MockEmployeeStore store = new MockEmployeeStore();
+    private final MockEmployeeChangeLog changeLog = new MockEmployeeChangeLog(3);
+    private final MockEmployeeService service = new MockEmployeeService(null, store, changeLog);
+
+    private MockEmployeeChangeFeed changeFeed;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        changeLog.attach(store);
+        changeFeed = new MockEmployeeChangeFeed(service, Duration.ofMillis(50), Duration.ofSeconds(30), 3);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new MockEmployeeController(service, changeFeed, new ObjectMapper(), null))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.close();
+    }
+
+    @Test
+    void streamChanges_resumesAfterTheLastEventId() throws Exception {
+        store.add(employee(1));
+        store.add(employee(2));
+        store.add(employee(3));
+
+        final var result = mockMvc.perform(get(CHANGES).header("Last-Event-ID", service.getChangeId(1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        awaitContent(result, "id:" + service.getChangeId(3) + "\n");
+        store.remove(employee(2).getId());
+        final var content = awaitContent(result, "id:" + service.getChangeId(4) + "\n");
+
+        assertFalse(content.contains("id:" + service.getChangeId(1) + "\n"), content);
+        assertFalse(content.contains("event:reset"), content);
+        assertTrue(content.indexOf("id:" + service.getChangeId(2) + "\n") < content.indexOf(service.getChangeId(3)));
+    }
+
+    @Test
+    void streamChanges_resumesFromTheLatestChangeSeenInAHeartbeat() throws Exception {
+        store.add(employee(1));
+
+        final var result = mockMvc.perform(get(CHANGES).param("lastEventId", service.getChangeId(1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        final var content = awaitContent(result, "event:heartbeat\ndata:1\n");
+        assertFalse(content.contains("event:change"), content);
+    }
+
+    @Test
+    void streamChanges_startsWithAResetWhenTheLastEventIdCannotBeResumedFrom() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            store.add(employee(i));
+        }
+        final var reset = "event:reset\nid:" + service.getChangeId(5) + "\ndata:5\n";
+
+        // overwritten in the ring, from another server run, and missing altogether
+        for (final var lastEventId : new String[] {service.getChangeId(1), "0123abcd-4", null}) {
+            final var subscription = get(CHANGES);
+            if (lastEventId != null) {
+                subscription.header("Last-Event-ID", lastEventId);
+            }
+            final var result = mockMvc.perform(subscription).andExpect(request().asyncStarted()).andReturn();
+
+            final var content = awaitContent(result, reset);
+            assertFalse(content.contains("event:change"), content);
+        }
+    }
+
+    @Test
+    void subscribe_freesTheSubscriberSlotOnceTheSubscriberLeaves() throws Exception {
+        final var first = changeFeed.subscribe(null).orElseThrow();
+        assertTrue(changeFeed.subscribe(null).isPresent());
+        assertTrue(changeFeed.subscribe(null).isPresent());
+        assertTrue(changeFeed.subscribe(null).isEmpty());
+        mockMvc.perform(get(CHANGES)).andExpect(status().isServiceUnavailable());
+
+        // the sender notices on its next heartbeat and returns the slot
+        first.complete();
+
+        final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        var again = changeFeed.subscribe(null);
+        while (again.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            again = changeFeed.subscribe(null);
+        }
+        assertTrue(again.isPresent());
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        var content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), content);
+        return content;
+    }
+
+    private static MockEmployee employee(int i) {
+        return MockEmployee.builder()
+                .id(new UUID(i, i))
+                .name("Employee " + i)
+                .salary(i * 1000)
+                .age(20 + i)
+                .title("Title " + i)
+                .email("employee" + i + "@company.com")
+                .build();
+    }
+}
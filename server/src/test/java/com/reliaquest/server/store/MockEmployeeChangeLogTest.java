@@ -0,0 +1,98 @@
+package com.reliaquest.server.store;
+
+import static com.reliaquest.server.store.MockEmployeeJournalTest.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.store.MockEmployeeChangeLog.Change;
+import com.reliaquest.server.store.MockEmployeeChangeLog.Op;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeChangeLogTest {
+
+    private final MockEmployeeStore store = new MockEmployeeStore();
+
+    @Test
+    void await_resumesRightAfterTheGivenChange() throws InterruptedException {
+        final var changeLog = attach(new MockEmployeeChangeLog(10));
+        store.add(employee(1));
+        store.addAll(List.of(employee(2), employee(3)));
+        store.remove(employee(2).getId());
+
+        assertEquals(4, changeLog.latest());
+        assertEquals(
+                List.of(
+                        new Change(1, Op.CREATED, employee(1)),
+                        new Change(2, Op.CREATED, employee(2)),
+                        new Change(3, Op.CREATED, employee(3)),
+                        new Change(4, Op.DELETED, employee(2))),
+                changeLog.await(0, 10, Duration.ZERO));
+        assertEquals(
+                List.of(new Change(3, Op.CREATED, employee(3)), new Change(4, Op.DELETED, employee(2))),
+                changeLog.await(2, 10, Duration.ZERO));
+        assertEquals(List.of(new Change(2, Op.CREATED, employee(2))), changeLog.await(1, 1, Duration.ZERO));
+        assertEquals(List.of(), changeLog.await(4, 10, Duration.ZERO));
+    }
+
+    @Test
+    void await_returnsNullOnceTheRingHasOverwrittenTheChangesFollowing() throws InterruptedException {
+        final var changeLog = attach(new MockEmployeeChangeLog(2));
+        for (int i = 1; i <= 5; i++) {
+            store.add(employee(i));
+        }
+
+        assertNull(changeLog.await(0, 10, Duration.ZERO));
+        assertNull(changeLog.await(2, 10, Duration.ZERO));
+        assertEquals(
+                List.of(new Change(4, Op.CREATED, employee(4)), new Change(5, Op.CREATED, employee(5))),
+                changeLog.await(3, 10, Duration.ZERO));
+        // a sequence that was never handed out, e.g. one from an earlier run
+        assertNull(changeLog.await(6, 10, Duration.ZERO));
+    }
+
+    @Test
+    void await_waitsForTheNextChange() throws Exception {
+        final var changeLog = attach(new MockEmployeeChangeLog(10));
+        store.add(employee(1));
+
+        assertEquals(List.of(), changeLog.await(1, 10, Duration.ofMillis(20)));
+
+        final var awaited = CompletableFuture.supplyAsync(() -> {
+            try {
+                return changeLog.await(1, 10, Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        store.remove(employee(1).getId());
+
+        assertEquals(List.of(new Change(2, Op.DELETED, employee(1))), awaited.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void added_skipsEmployeesAlreadyDeletedAgain() throws InterruptedException {
+        final var changeLog = new MockEmployeeChangeLog(10);
+        store.add(employee(1));
+        changeLog.attach(store);
+        store.remove(employee(1).getId());
+
+        // the create is reported only after the delete overtook it
+        changeLog.added(List.of(employee(1)));
+
+        assertEquals(List.of(new Change(1, Op.DELETED, employee(1))), changeLog.await(0, 10, Duration.ZERO));
+    }
+
+    @Test
+    void constructor_rejectsAnEmptyRing() {
+        assertThrows(IllegalArgumentException.class, () -> new MockEmployeeChangeLog(0));
+    }
+
+    private MockEmployeeChangeLog attach(MockEmployeeChangeLog changeLog) {
+        changeLog.attach(store);
+        return changeLog;
+    }
+}
@@ -0,0 +1,326 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_returnsRecordsInOrder() throws IOException {
+        final var file = directory.resolve("journal-1.log");
+        try (final var journal = new MockEmployeeJournal(file, true)) {
+            journal.created(List.of(employee(1), employee(2)));
+            journal.deleted(employee(1).getId());
+            journal.created(List.of(employee(3)));
+            assertEquals(3, journal.appended());
+        }
+
+        final var replayed = new Recording();
+        assertEquals(3, MockEmployeeJournal.replay(file, replayed));
+
+        assertEquals(
+                List.of(
+                        "created " + employee(1),
+                        "created " + employee(2),
+                        "deleted " + employee(1).getId(),
+                        "created " + employee(3)),
+                replayed.calls);
+    }
+
+    @Test
+    void replay_stopsBeforeATruncatedRecord() throws IOException {
+        final var file = directory.resolve("journal-1.log");
+        try (final var journal = new MockEmployeeJournal(file, false)) {
+            journal.created(List.of(employee(1)));
+            journal.created(List.of(employee(2), employee(3)));
+        }
+        try (final var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        final var replayed = new Recording();
+        assertEquals(1, MockEmployeeJournal.replay(file, replayed));
+
+        assertEquals(List.of("created " + employee(1)), replayed.calls);
+    }
+
+    @Test
+    void replay_stopsBeforeATruncatedHeader() throws IOException {
+        final var file = directory.resolve("journal-1.log");
+        try (final var journal = new MockEmployeeJournal(file, false)) {
+            journal.deleted(employee(1).getId());
+        }
+        Files.write(file, new byte[] {0, 0, 0}, StandardOpenOption.APPEND);
+
+        assertEquals(1, MockEmployeeJournal.replay(file, new Recording()));
+    }
+
+    @Test
+    void replay_stopsAtARecordFailingItsChecksum() throws IOException {
+        final var file = directory.resolve("journal-1.log");
+        try (final var journal = new MockEmployeeJournal(file, false)) {
+            journal.created(List.of(employee(1)));
+            journal.deleted(employee(1).getId());
+            journal.created(List.of(employee(2)));
+        }
+        final var bytes = Files.readAllBytes(file);
+        // the last byte of the second record: its deleted id
+        final var secondRecordEnd = recordEnd(bytes, recordEnd(bytes, 0));
+        bytes[secondRecordEnd - 1] ^= 1;
+        Files.write(file, bytes);
+
+        final var replayed = new Recording();
+        assertEquals(1, MockEmployeeJournal.replay(file, replayed));
+
+        assertEquals(List.of("created " + employee(1)), replayed.calls);
+    }
+
+    @Test
+    void rotate_continuesInTheNewFileAndLeavesTheOldOne() throws IOException {
+        final var first = directory.resolve("journal-1.log");
+        final var second = directory.resolve("journal-2.log");
+        try (final var journal = new MockEmployeeJournal(first, false)) {
+            journal.created(List.of(employee(1)));
+            journal.rotate(second);
+            assertEquals(0, journal.appended());
+            journal.deleted(employee(1).getId());
+        }
+
+        final var replayedFirst = new Recording();
+        MockEmployeeJournal.replay(first, replayedFirst);
+        final var replayedSecond = new Recording();
+        MockEmployeeJournal.replay(second, replayedSecond);
+
+        assertEquals(List.of("created " + employee(1)), replayedFirst.calls);
+        assertEquals(List.of("deleted " + employee(1).getId()), replayedSecond.calls);
+    }
+
+    @Test
+    void append_cutsBackATornWriteSoLaterAppendsStillReplay() throws IOException {
+        final var file = directory.resolve("journal-1.log");
+        final var failing = new ArrayList<FailingChannel>();
+        try (final var journal = new MockEmployeeJournal(file, false, FailingChannel.opener(failing))) {
+            journal.created(List.of(employee(1)));
+            failing.get(0).failWrites = true;
+            assertThrows(UncheckedIOException.class, () -> journal.created(List.of(employee(2), employee(3))));
+            failing.get(0).failWrites = false;
+            journal.deleted(employee(1).getId());
+            assertEquals(2, journal.appended());
+        }
+
+        final var replayed = new Recording();
+        assertEquals(2, MockEmployeeJournal.replay(file, replayed));
+
+        assertEquals(List.of("created " + employee(1), "deleted " + employee(1).getId()), replayed.calls);
+    }
+
+    @Test
+    void append_cutsBackACompleteRecordThatCouldNotBeFlushed() throws IOException {
+        final var file = directory.resolve("journal-1.log");
+        final var failing = new ArrayList<FailingChannel>();
+        try (final var journal = new MockEmployeeJournal(file, true, FailingChannel.opener(failing))) {
+            failing.get(0).failNextForce = true;
+            assertThrows(UncheckedIOException.class, () -> journal.created(List.of(employee(1))));
+            journal.created(List.of(employee(2)));
+        }
+
+        final var replayed = new Recording();
+        MockEmployeeJournal.replay(file, replayed);
+
+        assertEquals(List.of("created " + employee(2)), replayed.calls);
+    }
+
+    @Test
+    void append_refusesEveryAppendOnceAFailedOneCannotBeCutBack() throws IOException {
+        final var file = directory.resolve("journal-1.log");
+        final var failing = new ArrayList<FailingChannel>();
+        try (final var journal = new MockEmployeeJournal(file, false, FailingChannel.opener(failing))) {
+            journal.created(List.of(employee(1)));
+            failing.get(0).failWrites = true;
+            failing.get(0).failTruncate = true;
+            assertThrows(UncheckedIOException.class, () -> journal.created(List.of(employee(2))));
+            failing.get(0).failWrites = false;
+
+            assertThrows(UncheckedIOException.class, () -> journal.deleted(employee(1).getId()));
+
+            journal.rotate(directory.resolve("journal-2.log"));
+            journal.deleted(employee(1).getId());
+        }
+
+        final var replayed = new Recording();
+        MockEmployeeJournal.replay(directory.resolve("journal-2.log"), replayed);
+        assertEquals(List.of("deleted " + employee(1).getId()), replayed.calls);
+    }
+
+    private static int recordEnd(byte[] journal, int start) {
+        return start + Integer.BYTES * 2 + ByteBuffer.wrap(journal).getInt(start);
+    }
+
+    static MockEmployee employee(int i) {
+        return MockEmployee.builder()
+                .id(new UUID(i, i))
+                .name(i % 7 == 0 ? null : "Employee Näme " + i)
+                .salary(i % 5 == 0 ? null : i * 1000)
+                .age(i % 3 == 0 ? null : 20 + i % 40)
+                .title("Title " + i % 4)
+                .email("employee" + i + "@company.com")
+                .build();
+    }
+
+    /**
+     * File channel that writes only part of a buffer before failing, or fails to flush once or to truncate, on demand.
+     */
+    private static class FailingChannel extends FileChannel {
+
+        private final FileChannel file;
+        private volatile boolean failWrites;
+        private volatile boolean failNextForce;
+        private volatile boolean failTruncate;
+
+        private FailingChannel(FileChannel file) {
+            this.file = file;
+        }
+
+        static MockEmployeeJournal.Opener opener(List<FailingChannel> opened) {
+            return path -> {
+                final var channel = new FailingChannel(FileChannel.open(
+                        path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+                opened.add(channel);
+                return channel;
+            };
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (failWrites) {
+                file.write(src.slice(src.position(), src.remaining() / 2));
+                throw new IOException("disk full");
+            }
+            return file.write(src);
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            if (failNextForce) {
+                failNextForce = false;
+                throw new IOException("flush failed");
+            }
+            file.force(metaData);
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("truncate failed");
+            }
+            file.truncate(size);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return file.size();
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return file.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return file.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long position() throws IOException {
+            return file.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            file.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return file.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return file.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return file.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return file.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return file.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            file.close();
+        }
+    }
+
+    private static class Recording implements MockEmployeeJournal.Replay {
+
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void created(MockEmployee employee) {
+            calls.add("created " + employee);
+        }
+
+        @Override
+        public void deleted(UUID id) {
+            calls.add("deleted " + id);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.reliaquest.server.store;
+
+import static com.reliaquest.server.store.MockEmployeeJournalTest.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeePersistenceTest {
+
+    private static final List<MockEmployee> SEED = List.of(employee(1), employee(2), employee(3), employee(4));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void load_writesTheSeedAsTheFirstSnapshot() throws IOException {
+        final var store = open(new MockEmployeePersistence(directory, false, Duration.ZERO), SEED);
+
+        assertEquals(SEED, store.list());
+        assertEquals(List.of("journal-1.log", "snapshot-1.bin"), files());
+    }
+
+    @Test
+    void load_recoversTheSnapshotPlusTheJournalAfterACrash() throws IOException {
+        final var store = open(new MockEmployeePersistence(directory, false, Duration.ZERO), SEED);
+        store.add(employee(5));
+        store.addAll(List.of(employee(6), employee(7)));
+        store.remove(employee(2).getId());
+        store.removeFirstByName(employee(3).getName());
+        final var expected = store.list();
+        // never closed, as after a crash
+
+        final var recovered = open(new MockEmployeePersistence(directory, false, Duration.ZERO), null);
+
+        assertEquals(expected, recovered.list());
+        assertEquals(List.of("journal-1.log", "journal-2.log", "snapshot-1.bin"), files());
+    }
+
+    @Test
+    void load_recoversEveryJournalSinceTheSnapshotAfterRepeatedCrashes() throws IOException {
+        final var store = open(new MockEmployeePersistence(directory, false, Duration.ZERO), SEED);
+        store.add(employee(5));
+        final var again = open(new MockEmployeePersistence(directory, false, Duration.ZERO), null);
+        again.remove(employee(1).getId());
+
+        final var recovered = open(new MockEmployeePersistence(directory, false, Duration.ZERO), null);
+
+        assertEquals(List.of(employee(2), employee(3), employee(4), employee(5)), recovered.list());
+    }
+
+    @Test
+    void load_dropsATornJournalTailAndKeepsWhatCameBefore() throws IOException {
+        final var store = open(new MockEmployeePersistence(directory, false, Duration.ZERO), SEED);
+        store.add(employee(5));
+        store.add(employee(6));
+        try (final var channel = FileChannel.open(directory.resolve("journal-1.log"), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        final var recovered = open(new MockEmployeePersistence(directory, false, Duration.ZERO), null);
+
+        assertEquals(List.of(employee(1), employee(2), employee(3), employee(4), employee(5)), recovered.list());
+        // the torn journal is left as it is; the new run continues in a journal of its own
+        recovered.add(employee(7));
+        final var reopened = open(new MockEmployeePersistence(directory, false, Duration.ZERO), null);
+        assertEquals(
+                List.of(employee(1), employee(2), employee(3), employee(4), employee(5), employee(7)),
+                reopened.list());
+    }
+
+    @Test
+    void load_appliesADeleteReplayedAheadOfItsCreate() throws IOException {
+        MockEmployeeSnapshotFile.write(directory.resolve("snapshot-1.bin"), SEED);
+        try (final var journal = new MockEmployeeJournal(directory.resolve("journal-1.log"), false)) {
+            journal.deleted(employee(5).getId());
+            journal.created(List.of(employee(5), employee(6)));
+            journal.deleted(employee(1).getId());
+        }
+
+        final var recovered = open(new MockEmployeePersistence(directory, false, Duration.ZERO), null);
+
+        assertEquals(List.of(employee(2), employee(3), employee(4), employee(6)), recovered.list());
+    }
+
+    @Test
+    void checkpoint_rotatesTheJournalAndDeletesTheFilesItSupersedes() throws IOException {
+        final var persistence = new MockEmployeePersistence(directory, false, Duration.ZERO);
+        final var store = open(persistence, SEED);
+        store.add(employee(5));
+
+        persistence.checkpoint();
+
+        assertEquals(List.of("journal-2.log", "snapshot-2.bin"), files());
+        assertEquals(store.list(), MockEmployeeSnapshotFile.read(directory.resolve("snapshot-2.bin")));
+        assertEquals(0, Files.size(directory.resolve("journal-2.log")));
+
+        store.remove(employee(5).getId());
+        final var recovered = open(new MockEmployeePersistence(directory, false, Duration.ZERO), null);
+        assertEquals(SEED, recovered.list());
+    }
+
+    @Test
+    void checkpoint_doesNothingWhenNothingWasLogged() throws IOException {
+        final var persistence = new MockEmployeePersistence(directory, false, Duration.ZERO);
+        open(persistence, SEED);
+
+        persistence.checkpoint();
+
+        assertEquals(List.of("journal-1.log", "snapshot-1.bin"), files());
+    }
+
+    @Test
+    void close_checkpointsSoTheNextStartReplaysNothing() throws IOException {
+        final var persistence = new MockEmployeePersistence(directory, false, Duration.ZERO);
+        final var store = open(persistence, SEED);
+        store.add(employee(5));
+        final var expected = store.list();
+
+        persistence.close();
+        final var recovered = open(new MockEmployeePersistence(directory, false, Duration.ZERO), null);
+
+        assertEquals(expected, recovered.list());
+        // the empty journal of the closed run is dropped on recovery
+        assertEquals(List.of("journal-3.log", "snapshot-2.bin"), files());
+    }
+
+    @Test
+    void changes_areNotAppliedWhenTheJournalCannotBeAppendedTo() throws IOException {
+        final var persistence = new MockEmployeePersistence(directory, false, Duration.ZERO);
+        final var store = open(persistence, SEED);
+        persistence.close();
+
+        assertThrows(UncheckedIOException.class, () -> store.add(employee(5)));
+        assertThrows(UncheckedIOException.class, () -> store.addAll(List.of(employee(6))));
+        assertThrows(UncheckedIOException.class, () -> store.remove(employee(1).getId()));
+
+        assertEquals(SEED, store.list());
+        assertEquals(SEED.size(), store.version());
+    }
+
+    private static MockEmployeeStore open(MockEmployeePersistence persistence, List<MockEmployee> seed) {
+        final var store = new MockEmployeeStore();
+        persistence.load(() -> seed).forEach(store::add);
+        persistence.attach(store);
+        return store;
+    }
+
+    private List<String> files() throws IOException {
+        try (final var files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.reliaquest.server.store;
+
+import static com.reliaquest.server.store.MockEmployeeJournalTest.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_returnsWhatWasWrittenInOrder() throws IOException {
+        final var file = directory.resolve("snapshot-1.bin");
+        final var roster = new ArrayList<MockEmployee>();
+        for (int i = 1; i <= 100; i++) {
+            roster.add(employee(i));
+        }
+        roster.add(MockEmployee.builder().id(UUID.randomUUID()).build());
+
+        MockEmployeeSnapshotFile.write(file, roster);
+
+        assertEquals(roster, MockEmployeeSnapshotFile.read(file));
+        assertFalse(Files.exists(directory.resolve("snapshot-1.bin.tmp")));
+    }
+
+    @Test
+    void write_replacesAnEarlierFile() throws IOException {
+        final var file = directory.resolve("snapshot-1.bin");
+        MockEmployeeSnapshotFile.write(file, List.of(employee(1), employee(2)));
+
+        MockEmployeeSnapshotFile.write(file, List.of(employee(3)));
+
+        assertEquals(List.of(employee(3)), MockEmployeeSnapshotFile.read(file));
+    }
+
+    @Test
+    void read_rejectsATruncatedFile() throws IOException {
+        final var file = directory.resolve("snapshot-1.bin");
+        MockEmployeeSnapshotFile.write(file, List.of(employee(1), employee(2)));
+        try (final var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        assertThrows(IOException.class, () -> MockEmployeeSnapshotFile.read(file));
+    }
+
+    @Test
+    void read_rejectsAFileThatIsNoSnapshot() throws IOException {
+        final var file = directory.resolve("snapshot-1.bin");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+        assertThrows(IOException.class, () -> MockEmployeeSnapshotFile.read(file));
+    }
+}
@@ -0,0 +1,173 @@
+package com.reliaquest.server.store;
+
+import static com.reliaquest.server.store.MockEmployeeJournalTest.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    private static final int BATCH = 500;
+
+    private final MockEmployeeStore store = new MockEmployeeStore();
+
+    @Test
+    void findById_findsEveryEmployeeByItsId() {
+        store.addAll(batch(1));
+
+        for (int i = 1; i <= BATCH; i++) {
+            assertEquals(Optional.of(employee(i)), store.findById(employee(i).getId()));
+        }
+        assertTrue(store.findById(new UUID(0, BATCH + 1)).isEmpty());
+        store.remove(employee(1).getId());
+        assertTrue(store.findById(employee(1).getId()).isEmpty());
+        assertEquals(BATCH - 1, store.size());
+    }
+
+    @Test
+    void removeFirstByName_removesTheOldestNamesakeIgnoringCase() {
+        store.add(named(1, "Ada Lovelace"));
+        store.add(named(2, "Grace Hopper"));
+        store.add(named(3, "ADA LOVELACE"));
+        store.add(named(4, "ada lovelace"));
+
+        assertEquals(Optional.of(named(1, "Ada Lovelace")), store.removeFirstByName("ada LOVELACE"));
+        assertEquals(Optional.of(named(3, "ADA LOVELACE")), store.removeFirstByName("Ada Lovelace"));
+        assertEquals(Optional.of(named(4, "ada lovelace")), store.removeFirstByName("Ada Lovelace"));
+        assertTrue(store.removeFirstByName("Ada Lovelace").isEmpty());
+        assertTrue(store.removeFirstByName("Alan Turing").isEmpty());
+        assertEquals(List.of(named(2, "Grace Hopper")), store.list());
+    }
+
+    @Test
+    void listAndPage_keepInsertionOrder() {
+        for (final var i : new int[] {5, 3, 9, 1, 7}) {
+            store.add(employee(i));
+        }
+        store.addAll(List.of(employee(4), employee(2)));
+        store.remove(employee(9).getId());
+        final var expected = List.of(employee(5), employee(3), employee(1), employee(7), employee(4), employee(2));
+
+        assertEquals(expected, store.list());
+
+        final var paged = new ArrayList<MockEmployee>();
+        var page = store.page(0, 4);
+        paged.addAll(page.employees());
+        assertNotNull(page.nextCursor());
+        page = store.page(page.nextCursor(), 4);
+        paged.addAll(page.employees());
+        assertNull(page.nextCursor());
+        assertEquals(expected, paged);
+
+        final var after = new ArrayList<MockEmployee>();
+        store.after(0).forEach(after::add);
+        assertEquals(expected, after);
+    }
+
+    @Test
+    void addAndRemove_ofTheSameEmployeeRacingLeaveItAtMostOnce() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            final var store = new MockEmployeeStore();
+            final var employee = named(round, "Same Name");
+            final var start = new CountDownLatch(1);
+            final var added = new AtomicInteger();
+            final var removed = new AtomicInteger();
+            final var racers = new ArrayList<CompletableFuture<Void>>();
+            for (int racer = 0; racer < 4; racer++) {
+                racers.add(CompletableFuture.runAsync(() -> {
+                    await(start);
+                    if (store.add(employee)) {
+                        added.incrementAndGet();
+                    }
+                }));
+                racers.add(CompletableFuture.runAsync(() -> {
+                    await(start);
+                    store.remove(employee.getId()).ifPresent(ignored -> removed.incrementAndGet());
+                }));
+                racers.add(CompletableFuture.runAsync(() -> {
+                    await(start);
+                    store.removeFirstByName("SAME NAME").ifPresent(ignored -> removed.incrementAndGet());
+                }));
+            }
+            start.countDown();
+            CompletableFuture.allOf(racers.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+            // a remove frees the id again, but the employee is never in the store twice
+            final var left = added.get() - removed.get();
+            assertTrue(left == 0 || left == 1, added + " added, " + removed + " removed");
+            final var present = left == 1;
+            assertEquals(left, store.size());
+            assertEquals(present ? List.of(employee) : List.of(), store.list());
+            assertEquals(present, store.findById(employee.getId()).isPresent());
+            assertEquals(present, store.removeFirstByName("same name").isPresent());
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void addAll_becomesVisibleAllAtOnce() throws Exception {
+        final var done = new AtomicBoolean();
+        final var writers = new ArrayList<CompletableFuture<Void>>();
+        for (int writer = 0; writer < 4; writer++) {
+            final var offset = writer * 10 * BATCH;
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (int batch = 0; batch < 10; batch++) {
+                    store.addAll(batch(offset + batch * BATCH + 1));
+                }
+            }));
+        }
+        final var reader = CompletableFuture.runAsync(() -> {
+            while (!done.get()) {
+                final var size = store.list().size();
+                assertEquals(0, size % BATCH, "part of a batch is visible: " + size);
+                assertEquals(0, store.page(0, Integer.MAX_VALUE).employees().size() % BATCH);
+            }
+        });
+
+        CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        done.set(true);
+        reader.get(5, TimeUnit.SECONDS);
+
+        assertEquals(40 * BATCH, store.size());
+        assertEquals(40 * BATCH, store.list().size());
+    }
+
+    @Test
+    void addAll_skipsIdsAlreadyTakenAndCountsTheRest() {
+        store.add(employee(2));
+
+        assertEquals(2, store.addAll(List.of(employee(1), employee(2), employee(3), employee(1))));
+        assertEquals(List.of(employee(2), employee(1), employee(3)), store.list());
+        assertEquals(0, store.addAll(List.of(employee(1))));
+    }
+
+    private static MockEmployee named(int i, String name) {
+        return MockEmployee.builder().id(new UUID(i, i)).name(name).salary(1000).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<MockEmployee> batch(int first) {
+        final var employees = new ArrayList<MockEmployee>(BATCH);
+        for (int i = first; i < first + BATCH; i++) {
+            employees.add(employee(i));
+        }
+        return employees;
+    }
+}
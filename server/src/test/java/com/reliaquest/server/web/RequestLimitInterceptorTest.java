@@ -0,0 +1,114 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.config.RequestLimitConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestLimitInterceptorTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void preHandle_sharesOneBudgetAmongKeysBeyondMaxKeys() {
+        final var interceptor = new RequestLimitInterceptor(
+                RequestLimitPolicy.FIXED_WINDOW,
+                1,
+                Duration.ofSeconds(10),
+                RequestLimitInterceptor.Key.CLIENT,
+                2,
+                true,
+                registry,
+                clock::get);
+
+        assertTrue(admits(interceptor, "10.0.0.1"));
+        assertTrue(admits(interceptor, "10.0.0.2"));
+        // every budget is taken, so the next clients share the overflow budget
+        assertTrue(admits(interceptor, "10.0.0.3"));
+        final var response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("10.0.0.4"), response, null));
+        assertEquals(429, response.getStatus());
+        assertEquals("10", response.getHeader(HttpHeaders.RETRY_AFTER));
+        // the first clients keep budgets of their own
+        assertFalse(admits(interceptor, "10.0.0.1"));
+        assertEquals(2, registry.get("mock.requests.rejected").counter().count());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(admits(interceptor, "10.0.0.4"));
+        assertFalse(admits(interceptor, "10.0.0.3"));
+        assertTrue(admits(interceptor, "10.0.0.1"));
+    }
+
+    @Test
+    void remaining_followsTheGlobalBudgetOnTheClock() {
+        final var interceptor = new RequestLimitInterceptor(
+                RequestLimitPolicy.TOKEN_BUCKET,
+                5,
+                Duration.ofSeconds(10),
+                RequestLimitInterceptor.Key.GLOBAL,
+                1,
+                false,
+                registry,
+                clock::get);
+        final var remaining = registry.get("mock.requests.remaining").gauge();
+
+        assertEquals(5, remaining.value());
+        for (int i = 0; i < 5; i++) {
+            assertTrue(admits(interceptor, "10.0.0.1"));
+        }
+        assertEquals(0, remaining.value());
+        final var response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("10.0.0.2"), response, null));
+        assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertEquals(2, remaining.value());
+    }
+
+    @Test
+    void randomLimit_isDrawnTheSameForTheSameSeed() {
+        final var first = drawn(42L);
+
+        for (int i = 0; i < 5; i++) {
+            assertArrayEquals(first, drawn(42L));
+        }
+        assertTrue(first[0] >= 5 && first[0] <= 9, "limit " + first[0]);
+        assertTrue(first[1] >= 30 && first[1] <= 89, "window " + first[1]);
+    }
+
+    private static double[] drawn(long seed) {
+        final var registry = new SimpleMeterRegistry();
+        new RequestLimitConfiguration(
+                RequestLimitPolicy.COOL_DOWN,
+                RequestLimitInterceptor.Key.GLOBAL,
+                true,
+                seed,
+                10,
+                Duration.ofSeconds(60),
+                10_000,
+                false,
+                registry);
+        return new double[] {
+            registry.get("mock.requests.limit").gauge().value(),
+            registry.get("mock.requests.backoff").gauge().value()
+        };
+    }
+
+    private static boolean admits(RequestLimitInterceptor interceptor, String client) {
+        return interceptor.preHandle(request(client), new MockHttpServletResponse(), null);
+    }
+
+    private static MockHttpServletRequest request(String client) {
+        final var request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.setRemoteAddr(client);
+        return request;
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RequestLimitPolicyTest {
+
+    private static final long WINDOW = seconds(10);
+
+    private final AtomicLong state = new AtomicLong();
+
+    @Test
+    void coolDown_rejectsUntilTheWindowHasPassedSinceTheLastAdmittedRequest() {
+        final var policy = RequestLimitPolicy.COOL_DOWN;
+        assertEquals(3, policy.remaining(state.get(), 0, 3, WINDOW));
+
+        assertEquals(0, policy.tryAcquire(state, seconds(0), 3, WINDOW));
+        assertEquals(0, policy.tryAcquire(state, seconds(1), 3, WINDOW));
+        assertEquals(1, policy.remaining(state.get(), seconds(1), 3, WINDOW));
+        assertEquals(0, policy.tryAcquire(state, seconds(2), 3, WINDOW));
+        assertEquals(0, policy.remaining(state.get(), seconds(2), 3, WINDOW));
+
+        assertEquals(seconds(7), policy.tryAcquire(state, seconds(5), 3, WINDOW));
+        assertEquals(millis(1), policy.tryAcquire(state, seconds(12) - millis(1), 3, WINDOW));
+        assertEquals(3, policy.remaining(state.get(), seconds(12), 3, WINDOW));
+    }
+
+    @Test
+    void coolDown_admitsTheRequestEndingTheCoolDownWithoutCountingIt() {
+        final var policy = RequestLimitPolicy.COOL_DOWN;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, policy.tryAcquire(state, 0, 3, WINDOW));
+        }
+        assertTrue(policy.tryAcquire(state, 0, 3, WINDOW) > 0);
+
+        assertEquals(4, admitted(policy, seconds(10), 3));
+        assertEquals(WINDOW, policy.tryAcquire(state, seconds(10), 3, WINDOW));
+    }
+
+    @Test
+    void fixedWindow_admitsTheLimitPerAlignedWindow() {
+        final var policy = RequestLimitPolicy.FIXED_WINDOW;
+
+        assertEquals(3, admitted(policy, seconds(1), 3));
+        assertEquals(seconds(6), policy.tryAcquire(state, seconds(4), 3, WINDOW));
+        assertEquals(0, policy.remaining(state.get(), seconds(4), 3, WINDOW));
+
+        // a new window starts over, so a burst at either side of the boundary gets through twice
+        assertEquals(3, policy.remaining(state.get(), seconds(10), 3, WINDOW));
+        assertEquals(3, admitted(policy, seconds(10), 3));
+        assertEquals(seconds(10), policy.tryAcquire(state, seconds(10), 3, WINDOW));
+    }
+
+    @Test
+    void slidingWindow_weighsThePreviousWindowByItsOverlap() {
+        final var policy = RequestLimitPolicy.SLIDING_WINDOW;
+
+        assertEquals(4, admitted(policy, seconds(5), 4));
+        assertEquals(seconds(5), policy.tryAcquire(state, seconds(5), 4, WINDOW));
+
+        // 2.5 s into the next window, three quarters of the previous window's 4 requests still count
+        final var next = seconds(12) + millis(500);
+        assertEquals(1, policy.remaining(state.get(), next, 4, WINDOW));
+        assertEquals(1, admitted(policy, next, 4));
+        assertEquals(seconds(7) + millis(500), policy.tryAcquire(state, next, 4, WINDOW));
+
+        // half way through, only half of them
+        assertEquals(1, admitted(policy, seconds(15), 4));
+        assertEquals(0, policy.remaining(state.get(), seconds(15), 4, WINDOW));
+
+        // a window later the previous window is empty
+        assertEquals(4, policy.remaining(state.get(), seconds(30), 4, WINDOW));
+        assertEquals(4, admitted(policy, seconds(30), 4));
+    }
+
+    @Test
+    void tokenBucket_allowsABurstOfTheLimitAndRefillsEvenly() {
+        final var policy = RequestLimitPolicy.TOKEN_BUCKET;
+
+        assertEquals(5, policy.remaining(state.get(), 0, 5, WINDOW));
+        assertEquals(5, admitted(policy, 0, 5));
+        assertEquals(0, policy.remaining(state.get(), 0, 5, WINDOW));
+        assertEquals(seconds(2), policy.tryAcquire(state, 0, 5, WINDOW));
+
+        // one token every 2 s, and a retry after the returned wait succeeds
+        assertEquals(seconds(1), policy.tryAcquire(state, seconds(1), 5, WINDOW));
+        assertEquals(0, policy.tryAcquire(state, seconds(2), 5, WINDOW));
+        assertEquals(seconds(2), policy.tryAcquire(state, seconds(2), 5, WINDOW));
+
+        assertEquals(5, policy.remaining(state.get(), seconds(100), 5, WINDOW));
+        assertEquals(5, admitted(policy, seconds(100), 5));
+    }
+
+    /*
+     * Acquires at the given time until the first rejection.
+     */
+    private int admitted(RequestLimitPolicy policy, long now, int limit) {
+        var admitted = 0;
+        while (policy.tryAcquire(state, now, limit, WINDOW) == 0) {
+            admitted++;
+            assertTrue(admitted <= 2 * limit, "never rejected");
+        }
+        return admitted;
+    }
+
+    private static long seconds(long seconds) {
+        return TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}